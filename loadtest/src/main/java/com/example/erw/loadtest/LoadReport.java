@@ -0,0 +1,152 @@
+package com.example.erw.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Turns a run into a JSON report, HdrHistogram percentile files and a console
+ * summary, and compares against a previous report when one is given.
+ *
+ * Reports carry the full run configuration, so two reports are only compared
+ * when they were produced by the same rate, mix and seed.
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper objectMapper;
+
+    public LoadReport(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public ObjectNode build(ObjectNode metadata, OpenLoopDriver.RunResult result) {
+        double seconds = result.measuredNanos() / 1e9;
+        ObjectNode report = objectMapper.createObjectNode();
+        report.set("run", metadata);
+        report.put("measuredSeconds", seconds);
+        report.put("droppedRequests", result.dropped());
+        report.put("incomplete", result.incomplete());
+
+        Histogram all = new Histogram(3);
+        ObjectNode operations = report.putObject("operations");
+        for (Map.Entry<Operation, OperationStats> entry : result.stats().entrySet()) {
+            OperationStats stats = entry.getValue();
+            all.add(stats.latencyMicros());
+            ObjectNode op = summarize(operations.putObject(entry.getKey().key()), stats.latencyMicros(), seconds);
+            op.put("successes", stats.successes());
+            op.put("failures", stats.failures());
+            op.put("throughputPerSecond", round(stats.successes() / seconds));
+            ObjectNode statuses = op.putObject("statusCounts");
+            stats.statusCounts().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+            if (stats.lastFailure() != null) {
+                op.put("lastFailure", stats.lastFailure());
+            }
+        }
+        summarize(report.putObject("overall"), all, seconds);
+        return report;
+    }
+
+    public void write(Path dir, ObjectNode report, OpenLoopDriver.RunResult result) throws IOException {
+        Files.createDirectories(dir);
+        objectMapper.writeValue(dir.resolve("report.json").toFile(), report);
+
+        // Raw histograms, tagged per operation, for re-analysis with HdrHistogram tooling
+        try (PrintStream log = new PrintStream(Files.newOutputStream(dir.resolve("latency.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Map.Entry<Operation, OperationStats> entry : result.stats().entrySet()) {
+                Histogram histogram = entry.getValue().latencyMicros().copy();
+                histogram.setTag(entry.getKey().key());
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+        for (Map.Entry<Operation, OperationStats> entry : result.stats().entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().key() + ".hgrm")))) {
+                // Recorded in microseconds, reported in milliseconds
+                entry.getValue().latencyMicros().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    public void print(PrintStream out, ObjectNode report) {
+        out.printf("%n%-12s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        report.path("operations").fields().forEachRemaining(e -> printRow(out, e.getKey(), e.getValue()));
+        printRow(out, "overall", report.path("overall"));
+        if (report.path("droppedRequests").asLong() > 0) {
+            out.printf("%n%d requests dropped at the client in-flight limit%n", report.path("droppedRequests").asLong());
+        }
+        if (report.path("incomplete").asBoolean()) {
+            out.println("Some requests were still in flight when the run ended; results are incomplete");
+        }
+    }
+
+    public void compare(PrintStream out, ObjectNode report, JsonNode baseline) {
+        JsonNode run = report.path("run");
+        JsonNode baseRun = baseline.path("run");
+        for (String key : new String[]{"ratePerSecond", "mix", "seed", "durationSeconds"}) {
+            // Compare as text: the in-memory report holds longs where a parsed one holds ints
+            if (!run.path(key).asText().equals(baseRun.path(key).asText())) {
+                out.printf("%nBaseline differs in '%s' (%s vs %s); not comparing%n", key, baseRun.path(key), run.path(key));
+                return;
+            }
+        }
+
+        out.printf("%nCompared with baseline '%s':%n", baseRun.path("label").asText());
+        out.printf("%-12s %16s %16s %16s%n", "operation", "p50 ms", "p99 ms", "req/s");
+        report.path("operations").fields().forEachRemaining(e -> {
+            JsonNode base = baseline.path("operations").path(e.getKey());
+            if (base.isMissingNode()) return;
+            JsonNode cur = e.getValue();
+            out.printf("%-12s %16s %16s %16s%n", e.getKey(),
+                    delta(base.path("latencyMs").path("p50"), cur.path("latencyMs").path("p50")),
+                    delta(base.path("latencyMs").path("p99"), cur.path("latencyMs").path("p99")),
+                    delta(base.path("throughputPerSecond"), cur.path("throughputPerSecond")));
+        });
+    }
+
+    private static ObjectNode summarize(ObjectNode node, Histogram micros, double seconds) {
+        node.put("count", micros.getTotalCount());
+        node.put("completedPerSecond", round(micros.getTotalCount() / seconds));
+        ObjectNode latency = node.putObject("latencyMs");
+        latency.put("mean", round(micros.getMean() / 1000.0));
+        for (double p : PERCENTILES) {
+            latency.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p).replace(".", "")),
+                    round(micros.getValueAtPercentile(p) / 1000.0));
+        }
+        latency.put("max", round(micros.getMaxValue() / 1000.0));
+        return node;
+    }
+
+    private static void printRow(PrintStream out, String name, JsonNode op) {
+        JsonNode latency = op.path("latencyMs");
+        out.printf("%-12s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                op.path("count").asLong(), op.path("failures").asLong(),
+                op.has("throughputPerSecond") ? op.path("throughputPerSecond").asDouble() : op.path("completedPerSecond").asDouble(),
+                latency.path("p50").asDouble(), latency.path("p90").asDouble(), latency.path("p99").asDouble(),
+                latency.path("p999").asDouble(), latency.path("max").asDouble());
+    }
+
+    private static String delta(JsonNode base, JsonNode current) {
+        double b = base.asDouble();
+        double c = current.asDouble();
+        String change = b == 0 ? "n/a" : String.format("%+.0f%%", (c - b) / b * 100);
+        return String.format("%.2f (%s)", c, change);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.erw.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load generator for the ERW Site Scoring Service REST API.
+ *
+ * Drives a running instance (app + Postgres + Hikari + JPA, i.e. the full stack)
+ * at a fixed open-loop arrival rate with a configurable request mix, then writes
+ * HdrHistogram latency percentiles and throughput per operation.
+ *
+ * Usage:
+ * <pre>
+ * mvn -f loadtest/pom.xml -q compile exec:java -Dexec.args="--rate 100 --duration 60 --label v0.2.0"
+ * </pre>
+ * Options (defaults in brackets):
+ * <pre>
+ * --base-url URL      target service [http://localhost:8080]
+ * --rate N            requests per second [50]
+ * --duration S        measured seconds [60]
+ * --warmup S          unmeasured seconds before measuring [10]
+ * --mix SPEC          operation weights [list=30,list-region=20,list-deep=10,stats=10,score=30,export=0]
+ * --seed N            request stream seed; keep fixed to compare versions [42]
+ * --label TEXT        version or commit under test, recorded in the report [unlabelled]
+ * --out DIR           results directory [loadtest/results/&lt;label&gt;-&lt;timestamp&gt;]
+ * --baseline FILE     earlier report.json to compare against
+ * --timeout S         per-request timeout [30]
+ * --max-in-flight N   client-side concurrency cap [2000]
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        double rate = Double.parseDouble(options.getOrDefault("rate", "50"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "10"));
+        RequestMix mix = RequestMix.parse(options.getOrDefault("mix", RequestMix.DEFAULT));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String label = options.getOrDefault("label", "unlabelled");
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "30")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        Instant startedAt = Instant.now();
+        Path out = Path.of(options.getOrDefault("out",
+                "loadtest/results/" + label + "-" + startedAt.toString().replace(":", "")));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+
+            RequestFactory requests = new RequestFactory(baseUrl, timeout, objectMapper);
+            requests.discover(client);
+            System.out.printf("Target %s: %d sites in %d regions%n", baseUrl, requests.totalSites(), requests.regionCount());
+            System.out.printf("Offering %.1f req/s for %ds after %ds warmup, mix %s%n", rate, durationSeconds, warmupSeconds, mix);
+
+            OpenLoopDriver driver = new OpenLoopDriver(client, requests, mix, seed, maxInFlight);
+            OpenLoopDriver.RunResult result = driver.run(rate, Duration.ofSeconds(warmupSeconds),
+                    Duration.ofSeconds(durationSeconds), timeout);
+
+            ObjectNode metadata = objectMapper.createObjectNode();
+            metadata.put("label", label);
+            metadata.put("startedAt", startedAt.toString());
+            metadata.put("baseUrl", baseUrl);
+            metadata.put("ratePerSecond", rate);
+            metadata.put("durationSeconds", durationSeconds);
+            metadata.put("warmupSeconds", warmupSeconds);
+            metadata.put("mix", mix.toString());
+            metadata.put("seed", seed);
+            metadata.put("sites", requests.totalSites());
+            metadata.put("regions", requests.regionCount());
+            metadata.put("javaVersion", System.getProperty("java.version"));
+            metadata.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+            LoadReport report = new LoadReport(objectMapper);
+            ObjectNode json = report.build(metadata, result);
+            report.write(out, json, result);
+            report.print(System.out, json);
+            if (options.containsKey("baseline")) {
+                report.compare(System.out, json, objectMapper.readTree(Files.readAllBytes(Path.of(options.get("baseline")))));
+            }
+            System.out.printf("%nReport written to %s%n", out.toAbsolutePath());
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got '" + args[i] + "'");
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
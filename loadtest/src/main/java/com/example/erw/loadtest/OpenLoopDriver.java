@@ -0,0 +1,97 @@
+package com.example.erw.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-rate, open-loop request driver.
+ *
+ * Request i is due at {@code start + i / rate} whether or not earlier requests
+ * have completed, and its latency is measured from that intended time rather
+ * than from when it was actually sent. A slow server therefore shows up as
+ * queueing delay in the percentiles instead of silently lowering the offered
+ * load (coordinated omission).
+ *
+ * Each request's operation and payload come from a random stream seeded by
+ * {@code seed} and the request's sequence number, so two runs with the same
+ * settings send exactly the same requests in the same order.
+ */
+public class OpenLoopDriver {
+
+    private static final long SEQUENCE_MIX = 0x9E3779B97F4A7C15L;
+
+    private final HttpClient client;
+    private final RequestFactory requests;
+    private final RequestMix mix;
+    private final long seed;
+    private final int maxInFlight;
+
+    public OpenLoopDriver(HttpClient client, RequestFactory requests, RequestMix mix, long seed, int maxInFlight) {
+        this.client = client;
+        this.requests = requests;
+        this.mix = mix;
+        this.seed = seed;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public RunResult run(double ratePerSecond, Duration warmup, Duration duration, Duration drainTimeout)
+            throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation op : mix.weights().keySet()) {
+            stats.put(op, new OperationStats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LongAdder dropped = new LongAdder();
+
+        double intervalNanos = 1e9 / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long seq = 0; ; seq++) {
+            long intended = start + (long) (seq * intervalNanos);
+            if (intended >= end) break;
+
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            SplittableRandom random = new SplittableRandom(seed ^ (seq * SEQUENCE_MIX));
+            Operation op = mix.pick(random);
+            HttpRequest request = requests.build(op, random);
+            boolean measured = intended >= measureFrom;
+
+            if (!inFlight.tryAcquire()) {
+                // Client-side limit reached; count it rather than block and turn into a closed loop
+                if (measured) dropped.increment();
+                continue;
+            }
+            OperationStats opStats = stats.get(op);
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                  .whenComplete((response, error) -> {
+                      long completed = System.nanoTime();
+                      inFlight.release();
+                      if (measured) {
+                          opStats.record(intended, completed, response, error);
+                      }
+                  });
+        }
+
+        boolean drained = inFlight.tryAcquire(maxInFlight, drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        return new RunResult(stats, end - measureFrom, dropped.sum(), !drained);
+    }
+
+    public record RunResult(Map<Operation, OperationStats> stats, long measuredNanos,
+                            long dropped, boolean incomplete) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.erw.loadtest;
+
+/**
+ * Request types issued by the load generator, named as they appear in reports.
+ */
+public enum Operation {
+    LIST("list"),               // GET /api/sites, default sort, first pages
+    LIST_REGION("list-region"), // GET /api/sites?region=..., random region and sort
+    LIST_DEEP("list-deep"),     // GET /api/sites, pages near the end of the table
+    STATS("stats"),             // GET /api/sites/stats
+    SCORE("score"),             // POST /api/sitescore
+    EXPORT("export");           // GET /api/sites/export, bulk
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equals(key)) return op;
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+}
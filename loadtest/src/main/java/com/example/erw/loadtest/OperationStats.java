@@ -0,0 +1,52 @@
+package com.example.erw.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, measured from the intended send time) and
+ * outcome counters for one operation.
+ */
+public class OperationStats {
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final ConcurrentMap<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private volatile String lastFailure;
+
+    void record(long intendedNanos, long completedNanos, HttpResponse<?> response, Throwable error) {
+        latencyMicros.recordValue(Math.max(0, (completedNanos - intendedNanos) / 1_000));
+        if (error != null) {
+            failures.increment();
+            lastFailure = error.getClass().getSimpleName() + ": " + error.getMessage();
+            return;
+        }
+        int status = response.statusCode();
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status >= 200 && status < 300) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    public Histogram latencyMicros() { return latencyMicros; }
+    public long successes() { return successes.sum(); }
+    public long failures() { return failures.sum(); }
+    public long count() { return latencyMicros.getTotalCount(); }
+    public String lastFailure() { return lastFailure; }
+
+    public Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, adder) -> counts.put(status, adder.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.erw.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds the HTTP request for each operation. Listing queries draw regions from
+ * the live {@code /api/sites/stats} facets and deep pages from the live row count,
+ * so the same mix stays meaningful as the dataset grows.
+ */
+public class RequestFactory {
+
+    private static final String[] SORTS = {"score", "name", "id"};
+    private static final String[] DIRS = {"asc", "desc"};
+    private static final int PAGE_SIZE = 20;
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final ScorePayloadGenerator payloads = new ScorePayloadGenerator();
+    private final List<String> regions = new ArrayList<>();
+    private long totalSites;
+
+    public RequestFactory(String baseUrl, Duration timeout, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read region facets and table size from the target before the run starts.
+     */
+    public void discover(HttpClient client) throws IOException, InterruptedException {
+        JsonNode stats = getJson(client, "/api/sites/stats");
+        totalSites = stats.path("totalSites").asLong();
+        stats.path("regions").forEach(r -> regions.add(r.path("region").asText()));
+        if (totalSites == 0) {
+            totalSites = getJson(client, "/api/sites?size=1").path("total").asLong();
+        }
+    }
+
+    public long totalSites() { return totalSites; }
+    public int regionCount() { return regions.size(); }
+
+    public HttpRequest build(Operation op, SplittableRandom r) {
+        return switch (op) {
+            case LIST -> get("/api/sites?page=" + r.nextInt(3) + "&size=" + PAGE_SIZE);
+            case LIST_REGION -> get("/api/sites?region=" + encode(randomRegion(r))
+                    + "&sort=" + SORTS[r.nextInt(SORTS.length)]
+                    + "&dir=" + DIRS[r.nextInt(DIRS.length)]
+                    + "&size=" + PAGE_SIZE);
+            case LIST_DEEP -> get("/api/sites?page=" + deepPage(r) + "&size=" + PAGE_SIZE
+                    + "&sort=" + SORTS[r.nextInt(SORTS.length)]);
+            case STATS -> get("/api/sites/stats");
+            case SCORE -> post("/api/sitescore", payloads.next(r));
+            case EXPORT -> get("/api/sites/export");
+        };
+    }
+
+    private String randomRegion(SplittableRandom r) {
+        return regions.isEmpty() ? "" : regions.get(r.nextInt(regions.size()));
+    }
+
+    private long deepPage(SplittableRandom r) {
+        long lastPage = Math.max(0, (totalSites - 1) / PAGE_SIZE);
+        // Last 10% of the table: worst case for OFFSET pagination
+        long from = lastPage - lastPage / 10;
+        return from + r.nextLong(lastPage - from + 1);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode getJson(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(get(path), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
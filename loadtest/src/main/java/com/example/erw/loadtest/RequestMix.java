@@ -0,0 +1,67 @@
+package com.example.erw.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice of operations, parsed from e.g. {@code list=40,list-region=20,score=25}.
+ */
+public class RequestMix {
+
+    public static final String DEFAULT = "list=30,list-region=20,list-deep=10,stats=10,score=30,export=0";
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] ops;
+    private final int[] cumulative;
+    private final int total;
+
+    private RequestMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.ops = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[ops.length];
+        int sum = 0;
+        for (int i = 0; i < ops.length; i++) {
+            sum += weights.get(ops[i]);
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Request mix has no positive weights");
+        }
+        this.total = sum;
+    }
+
+    public static RequestMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "', expected op=weight");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(kv[0].trim()), weight);
+            }
+        }
+        return new RequestMix(weights);
+    }
+
+    public Operation pick(SplittableRandom random) {
+        int r = random.nextInt(total);
+        for (int i = 0; i < ops.length; i++) {
+            if (r < cumulative[i]) return ops[i];
+        }
+        return ops[ops.length - 1];
+    }
+
+    public Map<Operation, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((op, w) -> sb.append(sb.isEmpty() ? "" : ",").append(op.key()).append('=').append(w));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.erw.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates {@code SiteScoreRequest} bodies with plausible, correlated values that
+ * stay inside the service's validation bounds, so every request exercises the full
+ * scoring path rather than failing validation.
+ */
+public class ScorePayloadGenerator {
+
+    public Map<String, Object> next(SplittableRandom r) {
+        double latitude = r.nextDouble(-45, 60);
+        double absLat = Math.abs(latitude);
+        boolean tropical = absLat < 23.5;
+
+        // Warmer and wetter towards the equator, with noise
+        double temperature = clamp(29 - absLat * 0.45 + r.nextGaussian(0, 3), -50, 60);
+        double rainfall = clamp((tropical ? 1600 : 750) * Math.exp(r.nextGaussian(0, 0.35)), 0, 5000);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("latitude", round(latitude, 4));
+        body.put("longitude", round(r.nextDouble(-180, 180), 4));
+        body.put("rainfallMm", round(rainfall, 0));
+        body.put("soilPh", round(clamp(6.5 + r.nextGaussian(0, 0.8), 3.5, 9.5), 1));
+        body.put("avgTemperatureC", round(temperature, 1));
+        body.put("distanceToRoadKm", round(Math.abs(r.nextGaussian(0, 8)), 1));
+        body.put("basaltTransportDistanceKm", round(clamp(40 + Math.abs(r.nextGaussian(0, 150)), 0, 1000), 0));
+        body.put("basaltAvailabilityIndex", round(r.nextDouble(0.3, 1.0), 2));
+        body.put("infrastructureQualityIndex", round(r.nextDouble(0.3, 1.0), 2));
+        body.put("agriculturalLandHectares", round(Math.pow(10, r.nextDouble(3, 7)), 0));
+        body.put("populationDensityPerKm2", round(Math.pow(10, r.nextDouble(0.5, 3.5)), 0));
+        body.put("energyCostPerKWh", round(r.nextDouble(0.04, 0.35), 3));
+        body.put("laborCostPerHour", round(r.nextDouble(2, 60), 1));
+        body.put("annualRainfallVariability", round(rainfall * r.nextDouble(0.1, 0.4), 0));
+        body.put("soilOrganicCarbonPercent", round(r.nextDouble(0.5, 6), 1));
+        body.put("elevationMeters", round(clamp(Math.abs(r.nextGaussian(0, 600)), 0, 3000), 0));
+        body.put("regulatoryStabilityIndex", round(r.nextDouble(0.3, 1.0), 2));
+        body.put("soilMoisturePercent", round(r.nextDouble(15, 70), 0));
+        body.put("carbonMarketAccessibility", round(r.nextDouble(0.1, 1.0), 2));
+        body.put("soilCecMeqPer100g", round(r.nextDouble(4, 40), 1));
+        body.put("monitoringCapabilityIndex", round(r.nextDouble(0.2, 1.0), 2));
+        return body;
+    }
+
+    private static double clamp(double v, double min, double max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    private static double round(double v, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(v * scale) / scale;
+    }
+}
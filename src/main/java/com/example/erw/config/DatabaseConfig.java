@@ -1,37 +1,96 @@
 package com.example.erw.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import javax.sql.DataSource;
 import java.net.URI;
 
+/**
+ * Database wiring with separate pools for write and read traffic.
+ *
+ * The primary pool is built from DATABASE_URL. The read pool is built from
+ * DATABASE_READ_URL when set (typically a streaming replica) and otherwise from
+ * the primary URL, so reads and writes never compete for the same connections.
+ * The {@code @Primary} DataSource defers connection acquisition until the first
+ * statement, by which point the transaction's read-only flag is known and
+ * {@code @Transactional(readOnly = true)} work is routed to the read pool.
+ *
+ * The DataSource beans are excluded from lazy initialization, so a bad
+ * database URL fails startup instead of the first request.
+ */
 @Configuration
+@EnableScheduling
 public class DatabaseConfig {
 
+    private static final String LOCAL_DATABASE_URL = "jdbc:postgresql://localhost:5432/erwdb";
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerDataSources() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class);
+    }
+
     @Bean
     @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReadReplicaDataSource readReplicaDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(readReplicaDataSource);
+        return routing;
+    }
+
+    @Bean
     @ConfigurationProperties("spring.datasource.hikari")
-    public DataSource dataSource() {
-        String databaseUrl = System.getenv("DATABASE_URL");
-        
+    public HikariDataSource primaryDataSource() {
+        return buildDataSource(System.getenv("DATABASE_URL"));
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read.hikari")
+    public HikariDataSource readDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        String readUrl = System.getenv("DATABASE_READ_URL");
+        if (readUrl != null && !readUrl.isBlank()) {
+            return buildDataSource(readUrl);
+        }
+
+        // No replica: a second pool against the primary, reusing its credentials
+        HikariDataSource readDataSource = buildDataSource(System.getenv("DATABASE_URL"));
+        readDataSource.setUsername(primaryDataSource.getUsername());
+        readDataSource.setPassword(primaryDataSource.getPassword());
+        return readDataSource;
+    }
+
+    @Bean
+    public ReadReplicaDataSource readReplicaDataSource(@Qualifier("readDataSource") HikariDataSource readDataSource,
+                                                       @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                       @Value("${app.datasource.read.max-lag-seconds:30}") double maxLagSeconds) {
+        return new ReadReplicaDataSource(readDataSource, primaryDataSource, maxLagSeconds);
+    }
+
+    private static HikariDataSource buildDataSource(String databaseUrl) {
         if (databaseUrl != null && databaseUrl.startsWith("postgresql://")) {
             try {
                 // Parse the Render PostgreSQL URL using URI
                 URI uri = URI.create(databaseUrl);
-                
+
                 // Extract components
                 String host = uri.getHost();
                 int port = uri.getPort() != -1 ? uri.getPort() : 5432;
                 String database = uri.getPath().substring(1); // Remove leading /
                 String userInfo = uri.getUserInfo();
-                
+
                 // Reconstruct as JDBC URL without credentials (they're handled separately)
                 String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s", host, port, database);
-                
+
                 // Extract username and password for DataSource
                 String username = null;
                 String password = null;
@@ -40,32 +99,34 @@ public class DatabaseConfig {
                     username = credentials[0];
                     password = credentials[1];
                 }
-                
+
                 System.out.println("DEBUG: Original URL: " + databaseUrl);
                 System.out.println("DEBUG: Parsed JDBC URL: " + jdbcUrl);
                 System.out.println("DEBUG: Username: " + username);
-                
+
                 return DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
                         .url(jdbcUrl)
                         .username(username)
                         .password(password)
                         .build();
-                        
+
             } catch (Exception e) {
                 System.err.println("ERROR parsing DATABASE_URL: " + e.getMessage());
                 e.printStackTrace();
                 // Fall back to localhost
-                databaseUrl = "jdbc:postgresql://localhost:5432/erwdb";
+                databaseUrl = LOCAL_DATABASE_URL;
             }
         }
-        
+
         if (databaseUrl == null) {
             // Fallback for local development
-            databaseUrl = "jdbc:postgresql://localhost:5432/erwdb";
+            databaseUrl = LOCAL_DATABASE_URL;
         }
-        
+
         return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .url(databaseUrl)
                 .build();
     }
-}
\ No newline at end of file
+}
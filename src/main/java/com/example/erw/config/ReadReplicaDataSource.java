@@ -0,0 +1,131 @@
+package com.example.erw.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only connection source that prefers the read pool and falls back to the
+ * primary pool when the replica is unreachable or lagging.
+ *
+ * Used as the read-only target of the routing proxy in {@link DatabaseConfig}:
+ * connections for {@code @Transactional(readOnly = true)} work come from here,
+ * everything else goes to the primary pool.
+ */
+public class ReadReplicaDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    // Zero when caught up (or not a standby), otherwise seconds since the last replayed transaction
+    private static final String REPLICATION_LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource readPool;
+    private final HikariDataSource primaryPool;
+    private final double maxLagSeconds;
+    private volatile boolean replicaHealthy = true;
+    private volatile double lastLagSeconds;
+
+    public ReadReplicaDataSource(HikariDataSource readPool, HikariDataSource primaryPool, double maxLagSeconds) {
+        this.readPool = readPool;
+        this.primaryPool = primaryPool;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaHealthy) {
+            try {
+                return readPool.getConnection();
+            } catch (SQLException e) {
+                if (isConnectFailure(e)) {
+                    markUnhealthy("connection failed: " + e.getMessage());
+                } else {
+                    // Pool exhausted: borrow from the primary for this call only
+                    log.debug("Read pool {} exhausted, using primary: {}", readPool.getPoolName(), e.getMessage());
+                }
+            }
+        }
+        return primaryPool.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    /**
+     * Probe the read pool and decide whether read traffic should keep using it.
+     * Called periodically; a healthy probe re-enables a replica that was skipped.
+     */
+    @Scheduled(initialDelayString = "${app.datasource.read.health-check-interval-ms:10000}",
+               fixedDelayString = "${app.datasource.read.health-check-interval-ms:10000}")
+    public void checkHealth() {
+        try (Connection connection = readPool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(REPLICATION_LAG_SQL)) {
+            lastLagSeconds = rs.next() ? rs.getDouble(1) : 0;
+            if (lastLagSeconds > maxLagSeconds) {
+                markUnhealthy(String.format("replication lag %.1fs exceeds %.1fs", lastLagSeconds, maxLagSeconds));
+            } else if (!replicaHealthy) {
+                replicaHealthy = true;
+                log.info("Read pool {} healthy again, routing read-only traffic back to it", readPool.getPoolName());
+            }
+        } catch (SQLException e) {
+            markUnhealthy("health check failed: " + e.getMessage());
+        }
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    public Map<String, Object> poolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("primary", poolStats(primaryPool));
+        Map<String, Object> read = poolStats(readPool);
+        read.put("healthy", replicaHealthy);
+        read.put("replicationLagSeconds", lastLagSeconds);
+        stats.put("read", read);
+        return stats;
+    }
+
+    private void markUnhealthy(String reason) {
+        if (replicaHealthy) {
+            log.warn("Read pool {} unavailable ({}), falling back to primary", readPool.getPoolName(), reason);
+        }
+        replicaHealthy = false;
+    }
+
+    // Hikari reports an exhausted pool as a timeout without a cause; connect and
+    // validation failures carry the driver's exception or a connection SQLState (08xxx)
+    private static boolean isConnectFailure(SQLException e) {
+        return e.getCause() != null || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+    }
+
+    private static Map<String, Object> poolStats(HikariDataSource pool) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", pool.getPoolName());
+        stats.put("maximumPoolSize", pool.getMaximumPoolSize());
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        if (mxBean != null) {
+            stats.put("active", mxBean.getActiveConnections());
+            stats.put("idle", mxBean.getIdleConnections());
+            stats.put("total", mxBean.getTotalConnections());
+            stats.put("awaiting", mxBean.getThreadsAwaitingConnection());
+        }
+        return stats;
+    }
+}
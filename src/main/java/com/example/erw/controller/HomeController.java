@@ -1,5 +1,6 @@
 package com.example.erw.controller;
 
+import com.example.erw.config.ReadReplicaDataSource;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -8,18 +9,26 @@ import java.util.Map;
 
 @RestController
 public class HomeController {
+
+    private final ReadReplicaDataSource readReplicaDataSource;
+
+    public HomeController(ReadReplicaDataSource readReplicaDataSource) {
+        this.readReplicaDataSource = readReplicaDataSource;
+    }
+
     @GetMapping("/api/info")
     public Map<String, Object> info() {
         return Map.of(
             "name", "ERW Site Scoring Service",
             "status", "UP",
             "time", Instant.now().toString(),
-            "endpoints", new String[]{"/api/sites", "/api/sitescore", "/api/health"}
+            "endpoints", new String[]{"/api/sites", "/api/sites/stats", "/api/sites/export", "/api/sites/import", "/api/sites/duplicates", "/api/sitescore", "/api/sitescore/ranks", "/api/projections", "/api/health"}
         );
     }
     
     @GetMapping("/api/health")
     public Map<String, Object> health() {
-        return Map.of("status", "UP", "time", Instant.now().toString());
+        return Map.of("status", "UP", "time", Instant.now().toString(),
+                      "pools", readReplicaDataSource.poolStats());
     }
 }
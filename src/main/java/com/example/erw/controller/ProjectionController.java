@@ -0,0 +1,30 @@
+package com.example.erw.controller;
+
+import com.example.erw.dto.ProjectionRequest;
+import com.example.erw.dto.ProjectionResponse;
+import com.example.erw.service.CarbonProjectionService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for multi-year carbon and cost projections
+ *
+ * Projects one or more candidate sites year by year over a planning horizon,
+ * with per-year application rates and carbon prices, plus portfolio totals.
+ */
+@RestController
+@RequestMapping("/api")
+public class ProjectionController {
+
+    private final CarbonProjectionService carbonProjectionService;
+
+    public ProjectionController(CarbonProjectionService carbonProjectionService) {
+        this.carbonProjectionService = carbonProjectionService;
+    }
+
+    @PostMapping("/projections")
+    public ResponseEntity<ProjectionResponse> project(@Valid @RequestBody ProjectionRequest req) {
+        return ResponseEntity.ok(carbonProjectionService.project(req));
+    }
+}
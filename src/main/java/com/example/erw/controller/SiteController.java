@@ -1,19 +1,34 @@
 package com.example.erw.controller;
 
 import com.example.erw.dto.PagedSiteResponse;
+import com.example.erw.dto.RankSnapshot;
 import com.example.erw.dto.SiteScoreRequest;
 import com.example.erw.dto.SiteScoreResponse;
+import com.example.erw.dto.SiteStatsResponse;
 import com.example.erw.model.Site;
 import com.example.erw.repository.SiteRepository;
+import com.example.erw.service.SiteExportService;
+import com.example.erw.service.SiteRankService;
 import com.example.erw.service.SiteScoringService;
+import com.example.erw.service.SiteStatsService;
+import com.example.erw.stats.RankSnapshotPublisher;
+import com.example.erw.throttle.SingleFlight;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -21,7 +36,11 @@ import java.util.Set;
  * 
  * Provides endpoints for:
  * - Site listing with filtering, sorting, and pagination
+ * - Per-region score statistics served from incremental aggregates
+ * - Full-table columnar export streamed from a database cursor
  * - Comprehensive site scoring with detailed analysis
+ * - Percentile ranks of each score against all scored sites
+ * - Coalescing of concurrent identical listing and scoring requests
  * - Validation and error handling for all inputs
  * 
  * Security features:
@@ -38,13 +57,28 @@ public class SiteController {
 
     private final SiteRepository siteRepository;
     private final SiteScoringService siteScoringService;
+    private final SiteStatsService siteStatsService;
+    private final SiteExportService siteExportService;
+    private final SiteRankService siteRankService;
+    private final byte[] peerSecret;
     
     // Whitelisted sort fields to prevent arbitrary field access
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("score", "name", "id");
 
-    public SiteController(SiteRepository siteRepository, SiteScoringService siteScoringService) {
+    // Identical requests arriving together share one query or computation
+    private final SingleFlight<ListingKey, PagedSiteResponse> listings = new SingleFlight<>();
+    private final SingleFlight<ScoreKey, SiteScoreResponse> scores = new SingleFlight<>();
+
+    public SiteController(SiteRepository siteRepository, SiteScoringService siteScoringService,
+                          SiteStatsService siteStatsService, SiteExportService siteExportService,
+                          SiteRankService siteRankService,
+                          @Value("${app.ranks.peer-secret:}") String peerSecret) {
         this.siteRepository = siteRepository;
         this.siteScoringService = siteScoringService;
+        this.siteStatsService = siteStatsService;
+        this.siteExportService = siteExportService;
+        this.siteRankService = siteRankService;
+        this.peerSecret = peerSecret.getBytes(StandardCharsets.UTF_8);
     }
 
     @GetMapping("/sites")
@@ -65,8 +99,14 @@ public class SiteController {
         }
 
         var direction = "asc".equalsIgnoreCase(dir) ? Sort.Direction.ASC : Sort.Direction.DESC;
-        var sortObj = Sort.by(direction, sort);
-        var pageable = PageRequest.of(page, size, sortObj);
+        String regionFilter = region != null && !region.isBlank() ? region.toLowerCase(Locale.ROOT) : null;
+        var key = new ListingKey(regionFilter, sort, direction, page, size);
+        return ResponseEntity.ok(listings.execute(key, () -> findSites(key)));
+    }
+
+    private PagedSiteResponse findSites(ListingKey key) {
+        String region = key.region();
+        var pageable = PageRequest.of(key.page(), key.size(), Sort.by(key.direction(), key.sort()));
 
         List<Site> results;
         long totalCount;
@@ -80,12 +120,56 @@ public class SiteController {
             totalCount = pageResult.getTotalElements();
         }
 
-        var response = new PagedSiteResponse(page, size, totalCount, results);
-        return ResponseEntity.ok(response);
+        return new PagedSiteResponse(key.page(), key.size(), totalCount, results);
+    }
+
+    @GetMapping("/sites/stats")
+    public ResponseEntity<SiteStatsResponse> siteStats() {
+        return ResponseEntity.ok(siteStatsService.getStats());
+    }
+
+    @GetMapping("/sites/export")
+    public ResponseEntity<StreamingResponseBody> exportSites() {
+        // Not paginated: the whole table is streamed, see SiteColumnarWriter for the format
+        StreamingResponseBody body = siteExportService::exportSites;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sites.erwc\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
     }
 
     @PostMapping("/sitescore")
     public ResponseEntity<SiteScoreResponse> score(@Valid @RequestBody SiteScoreRequest req) {
-        return ResponseEntity.ok(siteScoringService.scoreSite(req));
+        String region = req.getRegion() != null && !req.getRegion().isBlank() ? req.getRegion().trim().toLowerCase(Locale.ROOT) : null;
+        return ResponseEntity.ok(scores.execute(new ScoreKey(req, region), () -> {
+            SiteScoreResponse response = siteScoringService.scoreSite(req);
+            siteRankService.recordAndRank(req, response);
+            return response;
+        }));
     }
+
+    @GetMapping("/sitescore/ranks")
+    public ResponseEntity<RankSnapshot> rankSnapshot() {
+        return ResponseEntity.ok(siteRankService.snapshot());
+    }
+
+    // Peers post their own snapshot (see RankSnapshotPublisher); ranks then cover sites scored on every instance
+    @PostMapping("/sitescore/ranks")
+    public ResponseEntity<Void> mergeRankSnapshot(
+            @RequestHeader(value = RankSnapshotPublisher.SECRET_HEADER, required = false) String secret,
+            @Valid @RequestBody RankSnapshot snapshot) {
+        // Merging is off unless a peer secret is configured
+        if (peerSecret.length == 0 || secret == null
+                || !MessageDigest.isEqual(peerSecret, secret.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        siteRankService.mergePeer(snapshot);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Region lower-cased: lookups ignore case, so "Brazil-SE" and "brazil-se" are the same query
+    private record ListingKey(String region, String sort, Sort.Direction direction, int page, int size) {}
+
+    // Scoring inputs plus the normalized region, which decides the region ranks in the response
+    private record ScoreKey(SiteScoreRequest inputs, String region) {}
 }
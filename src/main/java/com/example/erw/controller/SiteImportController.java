@@ -0,0 +1,39 @@
+package com.example.erw.controller;
+
+import com.example.erw.dto.SiteDuplicate;
+import com.example.erw.dto.SiteImportRequest;
+import com.example.erw.dto.SiteImportResponse;
+import com.example.erw.service.SiteDedupService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for site ingest
+ *
+ * Imports batches of sites, flagging or merging near-duplicates (accent, case
+ * and punctuation variants of a name, or similar names at the same coordinates)
+ * instead of inserting them, and reports near-duplicates already stored.
+ */
+@RestController
+@RequestMapping("/api")
+public class SiteImportController {
+
+    private final SiteDedupService siteDedupService;
+
+    public SiteImportController(SiteDedupService siteDedupService) {
+        this.siteDedupService = siteDedupService;
+    }
+
+    @PostMapping("/sites/import")
+    public ResponseEntity<SiteImportResponse> importSites(@Valid @RequestBody SiteImportRequest req) {
+        return ResponseEntity.ok(siteDedupService.importSites(req));
+    }
+
+    @GetMapping("/sites/duplicates")
+    public ResponseEntity<List<SiteDuplicate>> duplicates() {
+        return ResponseEntity.ok(siteDedupService.findDuplicates());
+    }
+}
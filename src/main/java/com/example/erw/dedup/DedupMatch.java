@@ -0,0 +1,28 @@
+package com.example.erw.dedup;
+
+/**
+ * An indexed site judged to be the same place as a query, with the evidence.
+ * {@code distanceKm} is null when either side has no coordinates.
+ */
+public final class DedupMatch {
+
+    private final long siteId;
+    private final String name;
+    private final String region;
+    private final double nameSimilarity;
+    private final Double distanceKm;
+
+    public DedupMatch(long siteId, String name, String region, double nameSimilarity, Double distanceKm) {
+        this.siteId = siteId;
+        this.name = name;
+        this.region = region;
+        this.nameSimilarity = nameSimilarity;
+        this.distanceKm = distanceKm;
+    }
+
+    public long getSiteId() { return siteId; }
+    public String getName() { return name; }
+    public String getRegion() { return region; }
+    public double getNameSimilarity() { return nameSimilarity; }
+    public Double getDistanceKm() { return distanceKm; }
+}
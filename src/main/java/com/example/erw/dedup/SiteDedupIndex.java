@@ -0,0 +1,260 @@
+package com.example.erw.dedup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory near-duplicate index over site names and coordinates.
+ *
+ * Two sites are duplicates when they are in the same region with near-identical
+ * names, or within {@value #NEARBY_KM} km of each other with similar names.
+ *
+ * Names are indexed by normalized trigram within each region, coordinates by a
+ * grid of 0.01 degree cells. Name candidates come from prefix filtering: a site
+ * that reaches the similarity threshold must share at least one of the query's
+ * rarest trigrams, so the most common ones ("ion", " sa") are usually never
+ * scanned. Nearby candidates come from the surrounding cells. A lookup therefore
+ * costs time in the number of plausible candidates, not in the size of the index.
+ */
+public class SiteDedupIndex {
+
+    static final double SAME_REGION_NAME_SIMILARITY = 0.8;
+    static final double NEARBY_NAME_SIMILARITY = 0.5;
+    static final double NEARBY_KM = 1.0;
+
+    private static final double CELL_DEGREES = 0.01;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final long[] EMPTY_POSTING = {0};
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // (region, trigram) -> site ids; slot 0 holds how many of the following slots are in use
+    private final Map<Long, long[]> postings = new HashMap<>();
+    private final Map<String, Integer> regionIds = new HashMap<>();
+    private final Map<Long, List<Long>> cells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(long id, String name, String region, Double latitude, Double longitude) {
+        Entry entry = new Entry(id, name, region, SiteNameNormalizer.normalize(region),
+                SiteNameNormalizer.trigrams(SiteNameNormalizer.normalize(name)), latitude, longitude);
+        lock.writeLock().lock();
+        try {
+            unindex(entries.put(id, entry));
+            int regionId = regionIds.computeIfAbsent(entry.normalizedRegion, r -> regionIds.size());
+            for (int gram : entry.grams) {
+                long key = postingKey(regionId, gram);
+                long[] ids = postings.get(key);
+                int size = ids != null ? (int) ids[0] : 0;
+                if (ids == null || size + 1 == ids.length) {
+                    ids = Arrays.copyOf(ids != null ? ids : new long[1], Math.max(3, ids != null ? ids.length * 2 : 0));
+                    postings.put(key, ids);
+                }
+                ids[size + 1] = id;
+                ids[0] = size + 1;
+            }
+            if (entry.hasCoordinates()) {
+                cells.computeIfAbsent(cellKey(cellOf(latitude), cellOf(longitude)), c -> new ArrayList<>(1)).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(entries.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entries.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Best duplicate of the given site, if any. */
+    public Optional<DedupMatch> findMatch(String name, String region, Double latitude, Double longitude) {
+        List<DedupMatch> matches = findMatches(name, region, latitude, longitude, null);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    /**
+     * Every duplicate pair currently indexed, each reported once from its lower id.
+     * The lock is taken per site, so writers are not blocked for the whole scan.
+     */
+    public List<DuplicatePair> duplicatePairs() {
+        List<Long> ids = ids();
+        ids.sort(null);
+        List<DuplicatePair> pairs = new ArrayList<>();
+        for (long id : ids) {
+            lock.readLock().lock();
+            try {
+                Entry entry = entries.get(id);
+                if (entry == null) continue;
+                for (DedupMatch match : findMatches(entry.name, entry.region, entry.latitude, entry.longitude, id)) {
+                    if (match.getSiteId() > id) {
+                        pairs.add(new DuplicatePair(id, entry.name, entry.region, match));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return pairs;
+    }
+
+    /** All duplicates of the given site, most similar first. */
+    public List<DedupMatch> findMatches(String name, String region, Double latitude, Double longitude, Long excludeId) {
+        int[] grams = SiteNameNormalizer.trigrams(SiteNameNormalizer.normalize(name));
+        String normalizedRegion = SiteNameNormalizer.normalize(region);
+        boolean hasCoordinates = latitude != null && longitude != null;
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = nameCandidates(regionIds.get(normalizedRegion), grams);
+            if (hasCoordinates) {
+                addNearbyCandidates(latitude, longitude, candidates);
+            }
+
+            List<DedupMatch> matches = new ArrayList<>();
+            for (Long candidateId : candidates) {
+                if (candidateId.equals(excludeId)) continue;
+                Entry other = entries.get(candidateId);
+                double similarity = SiteNameNormalizer.similarity(grams, other.grams);
+                Double distance = hasCoordinates && other.hasCoordinates()
+                        ? distanceKm(latitude, longitude, other.latitude, other.longitude) : null;
+                boolean sameRegion = !normalizedRegion.isEmpty() && normalizedRegion.equals(other.normalizedRegion);
+                if ((sameRegion && similarity >= SAME_REGION_NAME_SIMILARITY)
+                        || (distance != null && distance <= NEARBY_KM && similarity >= NEARBY_NAME_SIMILARITY)) {
+                    matches.add(new DedupMatch(other.id, other.name, other.region, similarity, distance));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(DedupMatch::getNameSimilarity).reversed()
+                    .thenComparing(m -> m.getDistanceKm() != null ? m.getDistanceKm() : Double.MAX_VALUE));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> nameCandidates(Integer regionId, int[] grams) {
+        Set<Long> candidates = new HashSet<>();
+        if (regionId == null || grams.length == 0) return candidates;
+
+        // Dice >= t needs s >= t * |A| / (2 - t) shared trigrams for any |B|, so a match
+        // must contain at least one of the |A| - s + 1 rarest trigrams of the query.
+        // Nearby sites are found through the grid, so the same-region threshold applies.
+        double t = SAME_REGION_NAME_SIMILARITY;
+        int minShared = (int) Math.ceil(t * grams.length / (2 - t) - 1e-9);
+        int prefixLength = grams.length - minShared + 1;
+
+        List<long[]> lists = new ArrayList<>(grams.length);
+        for (int gram : grams) {
+            lists.add(postings.getOrDefault(postingKey(regionId, gram), EMPTY_POSTING));
+        }
+        lists.sort(Comparator.comparingLong(ids -> ids[0]));
+        for (int i = 0; i < prefixLength; i++) {
+            long[] ids = lists.get(i);
+            for (int j = 1; j <= ids[0]; j++) {
+                candidates.add(ids[j]);
+            }
+        }
+        return candidates;
+    }
+
+    private void addNearbyCandidates(double latitude, double longitude, Set<Long> candidates) {
+        int latSpan = (int) Math.ceil(NEARBY_KM / KM_PER_DEGREE / CELL_DEGREES);
+        double kmPerLonDegree = KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        int lonSpan = (int) Math.min(Math.ceil(NEARBY_KM / kmPerLonDegree / CELL_DEGREES), 1.0 / CELL_DEGREES);
+
+        int latCell = cellOf(latitude);
+        int lonCell = cellOf(longitude);
+        for (int dLat = -latSpan; dLat <= latSpan; dLat++) {
+            for (int dLon = -lonSpan; dLon <= lonSpan; dLon++) {
+                List<Long> ids = cells.get(cellKey(latCell + dLat, lonCell + dLon));
+                if (ids != null) candidates.addAll(ids);
+            }
+        }
+    }
+
+    private void unindex(Entry entry) {
+        if (entry == null) return;
+        int regionId = regionIds.get(entry.normalizedRegion);
+        for (int gram : entry.grams) {
+            long key = postingKey(regionId, gram);
+            long[] ids = postings.get(key);
+            int last = (int) ids[0];
+            for (int j = last; j >= 1; j--) {
+                if (ids[j] == entry.id) {
+                    // Order within a posting does not matter: move the last id into the gap
+                    ids[j] = ids[last];
+                    ids[0] = last - 1;
+                    break;
+                }
+            }
+            if (ids[0] == 0) {
+                postings.remove(key);
+            }
+        }
+        if (entry.hasCoordinates()) {
+            long key = cellKey(cellOf(entry.latitude), cellOf(entry.longitude));
+            List<Long> ids = cells.get(key);
+            if (ids != null && ids.remove(entry.id) && ids.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static long postingKey(int regionId, int gram) {
+        return (long) regionId * SiteNameNormalizer.GRAM_SPACE + gram;
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    public record DuplicatePair(long siteId, String name, String region, DedupMatch match) {}
+
+    private record Entry(long id, String name, String region, String normalizedRegion, int[] grams,
+                         Double latitude, Double longitude) {
+        boolean hasCoordinates() {
+            return latitude != null && longitude != null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.erw.dedup;
+
+import com.example.erw.model.AfterCommit;
+import com.example.erw.model.Site;
+import com.example.erw.service.SiteDedupService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps the {@link SiteDedupService} index in step with
+ * committed writes to the site table, like {@link com.example.erw.stats.SiteStatsListener}.
+ */
+@Component
+public class SiteDedupListener {
+
+    private final ObjectProvider<SiteDedupService> dedupService;
+
+    public SiteDedupListener(ObjectProvider<SiteDedupService> dedupService) {
+        this.dedupService = dedupService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Site site) {
+        long id = site.getId();
+        String name = site.getName();
+        String region = site.getRegion();
+        Double latitude = site.getLatitude();
+        Double longitude = site.getLongitude();
+        AfterCommit.run(() -> dedupService.getObject().indexSite(id, name, region, latitude, longitude));
+    }
+
+    @PostRemove
+    public void onRemove(Site site) {
+        long id = site.getId();
+        AfterCommit.run(() -> dedupService.getObject().unindexSite(id));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.erw.dedup;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of site and region names for duplicate detection.
+ *
+ * Accents are stripped, case is folded and punctuation collapses to single
+ * spaces, so "São Paulo - Interior" and "sao paulo interior" normalize alike.
+ */
+public final class SiteNameNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final int SYMBOLS = 37;
+    public static final int GRAM_SPACE = SYMBOLS * SYMBOLS * SYMBOLS;
+
+    private SiteNameNormalizer() {}
+
+    public static String normalize(String name) {
+        if (name == null) return "";
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    /**
+     * Character trigrams of a normalized name as sorted, distinct codes below
+     * {@link #GRAM_SPACE}, padded so word boundaries count.
+     */
+    public static int[] trigrams(String normalized) {
+        if (normalized.isEmpty()) return new int[0];
+        String padded = " " + normalized + " ";
+        int[] grams = new int[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (symbol(padded.charAt(i)) * SYMBOLS + symbol(padded.charAt(i + 1))) * SYMBOLS
+                    + symbol(padded.charAt(i + 2));
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    /** Dice coefficient of two trigram sets: 1.0 for identical names, 0.0 for nothing in common. */
+    public static double similarity(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) return 0.0;
+        int shared = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return 2.0 * shared / (a.length + b.length);
+    }
+
+    // Normalized names only contain ' ', a-z and 0-9
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') return 1 + c - 'a';
+        if (c >= '0' && c <= '9') return 27 + c - '0';
+        return 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.erw.dto;
+
+import jakarta.validation.constraints.*;
+
+public class ImportedSite {
+    @NotBlank @Size(max = 255) private String name;
+    @NotBlank @Size(max = 255) private String region;
+    @DecimalMin("-90.0") @DecimalMax("90.0") private Double latitude;
+    @DecimalMin("-180.0") @DecimalMax("180.0") private Double longitude;
+    @DecimalMin("0.0") @DecimalMax("1.0") private Double score;
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+}
@@ -0,0 +1,33 @@
+package com.example.erw.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class ProjectionRequest {
+    // Sites to project, scored with the same parameters as /api/sitescore
+    @NotEmpty @Size(max = 500) @Valid private List<SiteScoreRequest> sites;
+
+    @NotNull @Min(1) @Max(30) private Integer horizonYears = 20;
+
+    // Years for half of the applied basalt to weather (first-order decay)
+    @NotNull @DecimalMin("0.1") @DecimalMax("50.0") private Double weatheringHalfLifeYears = 2.0;
+
+    // Basalt tons per hectare applied in year 1, 2, ...; the last entry repeats. Default 3.0 every year
+    @Size(max = 30) private List<@NotNull @DecimalMin("0.0") @DecimalMax("50.0") Double> applicationTonsPerHectare;
+
+    // Carbon price per ton CO2 in year 1, 2, ...; the last entry repeats. Default ramps $57 to $180
+    @Size(max = 30) private List<@NotNull @DecimalMin("0.0") @DecimalMax("1000.0") Double> carbonPriceUsdPerTon;
+
+    public List<SiteScoreRequest> getSites() { return sites; }
+    public void setSites(List<SiteScoreRequest> sites) { this.sites = sites; }
+    public Integer getHorizonYears() { return horizonYears; }
+    public void setHorizonYears(Integer horizonYears) { this.horizonYears = horizonYears; }
+    public Double getWeatheringHalfLifeYears() { return weatheringHalfLifeYears; }
+    public void setWeatheringHalfLifeYears(Double weatheringHalfLifeYears) { this.weatheringHalfLifeYears = weatheringHalfLifeYears; }
+    public List<Double> getApplicationTonsPerHectare() { return applicationTonsPerHectare; }
+    public void setApplicationTonsPerHectare(List<Double> applicationTonsPerHectare) { this.applicationTonsPerHectare = applicationTonsPerHectare; }
+    public List<Double> getCarbonPriceUsdPerTon() { return carbonPriceUsdPerTon; }
+    public void setCarbonPriceUsdPerTon(List<Double> carbonPriceUsdPerTon) { this.carbonPriceUsdPerTon = carbonPriceUsdPerTon; }
+}
@@ -0,0 +1,24 @@
+package com.example.erw.dto;
+
+import java.util.List;
+
+public class ProjectionResponse {
+    private int horizonYears;
+    private List<SiteProjection> sites;
+    private List<ProjectionYear> portfolio; // year-by-year totals across all sites
+
+    public ProjectionResponse() {}
+
+    public ProjectionResponse(int horizonYears, List<SiteProjection> sites, List<ProjectionYear> portfolio) {
+        this.horizonYears = horizonYears;
+        this.sites = sites;
+        this.portfolio = portfolio;
+    }
+
+    public int getHorizonYears() { return horizonYears; }
+    public void setHorizonYears(int horizonYears) { this.horizonYears = horizonYears; }
+    public List<SiteProjection> getSites() { return sites; }
+    public void setSites(List<SiteProjection> sites) { this.sites = sites; }
+    public List<ProjectionYear> getPortfolio() { return portfolio; }
+    public void setPortfolio(List<ProjectionYear> portfolio) { this.portfolio = portfolio; }
+}
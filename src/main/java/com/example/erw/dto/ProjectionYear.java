@@ -0,0 +1,53 @@
+package com.example.erw.dto;
+
+public class ProjectionYear {
+    private int year;
+    private double basaltAppliedTons;
+    private double unweatheredBasaltTons;
+    private double carbonPriceUsdPerTon;
+
+    // Flows within the year
+    private double carbonRemovalKg;
+    private double co2EmissionsKg;
+    private double netCarbonImpactKg;
+    private double costUsd;
+    private double revenueUsd;
+
+    // Running totals from year 1
+    private double cumulativeNetCarbonImpactKg;
+    private double cumulativeCostUsd;
+    private double cumulativeRevenueUsd;
+
+    public ProjectionYear() {}
+
+    public ProjectionYear(int year) {
+        this.year = year;
+    }
+
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+    public double getBasaltAppliedTons() { return basaltAppliedTons; }
+    public void setBasaltAppliedTons(double basaltAppliedTons) { this.basaltAppliedTons = basaltAppliedTons; }
+    public double getUnweatheredBasaltTons() { return unweatheredBasaltTons; }
+    public void setUnweatheredBasaltTons(double unweatheredBasaltTons) { this.unweatheredBasaltTons = unweatheredBasaltTons; }
+    public double getCarbonPriceUsdPerTon() { return carbonPriceUsdPerTon; }
+    public void setCarbonPriceUsdPerTon(double carbonPriceUsdPerTon) { this.carbonPriceUsdPerTon = carbonPriceUsdPerTon; }
+
+    public double getCarbonRemovalKg() { return carbonRemovalKg; }
+    public void setCarbonRemovalKg(double carbonRemovalKg) { this.carbonRemovalKg = carbonRemovalKg; }
+    public double getCo2EmissionsKg() { return co2EmissionsKg; }
+    public void setCo2EmissionsKg(double co2EmissionsKg) { this.co2EmissionsKg = co2EmissionsKg; }
+    public double getNetCarbonImpactKg() { return netCarbonImpactKg; }
+    public void setNetCarbonImpactKg(double netCarbonImpactKg) { this.netCarbonImpactKg = netCarbonImpactKg; }
+    public double getCostUsd() { return costUsd; }
+    public void setCostUsd(double costUsd) { this.costUsd = costUsd; }
+    public double getRevenueUsd() { return revenueUsd; }
+    public void setRevenueUsd(double revenueUsd) { this.revenueUsd = revenueUsd; }
+
+    public double getCumulativeNetCarbonImpactKg() { return cumulativeNetCarbonImpactKg; }
+    public void setCumulativeNetCarbonImpactKg(double cumulativeNetCarbonImpactKg) { this.cumulativeNetCarbonImpactKg = cumulativeNetCarbonImpactKg; }
+    public double getCumulativeCostUsd() { return cumulativeCostUsd; }
+    public void setCumulativeCostUsd(double cumulativeCostUsd) { this.cumulativeCostUsd = cumulativeCostUsd; }
+    public double getCumulativeRevenueUsd() { return cumulativeRevenueUsd; }
+    public void setCumulativeRevenueUsd(double cumulativeRevenueUsd) { this.cumulativeRevenueUsd = cumulativeRevenueUsd; }
+}
@@ -0,0 +1,32 @@
+package com.example.erw.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Map;
+
+public class RankSnapshot {
+    // Instance that recorded these counts; a newer snapshot from the same instance replaces the older one
+    @NotBlank private String instanceId;
+
+    // Dimension -> 101 counts of values 0.00, 0.01, ... 1.00
+    @NotNull private Map<String, long[]> dimensions;
+
+    // Region -> dimension -> counts
+    private Map<String, Map<String, long[]>> regions;
+
+    public RankSnapshot() {}
+
+    public RankSnapshot(String instanceId, Map<String, long[]> dimensions, Map<String, Map<String, long[]>> regions) {
+        this.instanceId = instanceId;
+        this.dimensions = dimensions;
+        this.regions = regions;
+    }
+
+    public String getInstanceId() { return instanceId; }
+    public void setInstanceId(String instanceId) { this.instanceId = instanceId; }
+    public Map<String, long[]> getDimensions() { return dimensions; }
+    public void setDimensions(Map<String, long[]> dimensions) { this.dimensions = dimensions; }
+    public Map<String, Map<String, long[]>> getRegions() { return regions; }
+    public void setRegions(Map<String, Map<String, long[]>> regions) { this.regions = regions; }
+}
@@ -0,0 +1,42 @@
+package com.example.erw.dto;
+
+public class RegionScoreStats {
+    private String region;
+    private long count;
+    private double minScore;
+    private double meanScore;
+    private double maxScore;
+    private double p25Score;
+    private double medianScore;
+    private double p75Score;
+    private double p90Score;
+    private long[] histogram;
+
+    public RegionScoreStats() {}
+
+    public RegionScoreStats(String region, long count) {
+        this.region = region;
+        this.count = count;
+    }
+
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public double getMinScore() { return minScore; }
+    public void setMinScore(double minScore) { this.minScore = minScore; }
+    public double getMeanScore() { return meanScore; }
+    public void setMeanScore(double meanScore) { this.meanScore = meanScore; }
+    public double getMaxScore() { return maxScore; }
+    public void setMaxScore(double maxScore) { this.maxScore = maxScore; }
+    public double getP25Score() { return p25Score; }
+    public void setP25Score(double p25Score) { this.p25Score = p25Score; }
+    public double getMedianScore() { return medianScore; }
+    public void setMedianScore(double medianScore) { this.medianScore = medianScore; }
+    public double getP75Score() { return p75Score; }
+    public void setP75Score(double p75Score) { this.p75Score = p75Score; }
+    public double getP90Score() { return p90Score; }
+    public void setP90Score(double p90Score) { this.p90Score = p90Score; }
+    public long[] getHistogram() { return histogram; }
+    public void setHistogram(long[] histogram) { this.histogram = histogram; }
+}
@@ -0,0 +1,31 @@
+package com.example.erw.dto;
+
+public class ScoreRank {
+    private long rank;          // 1 = highest value among all scored sites
+    private long outOf;
+    private double percentile;  // share of scored sites at or below this value, 0-100
+    private Long regionRank;    // region fields are null unless the request named a region
+    private Long regionOutOf;
+    private Double regionPercentile;
+
+    public ScoreRank() {}
+
+    public ScoreRank(long rank, long outOf, double percentile) {
+        this.rank = rank;
+        this.outOf = outOf;
+        this.percentile = percentile;
+    }
+
+    public long getRank() { return rank; }
+    public void setRank(long rank) { this.rank = rank; }
+    public long getOutOf() { return outOf; }
+    public void setOutOf(long outOf) { this.outOf = outOf; }
+    public double getPercentile() { return percentile; }
+    public void setPercentile(double percentile) { this.percentile = percentile; }
+    public Long getRegionRank() { return regionRank; }
+    public void setRegionRank(Long regionRank) { this.regionRank = regionRank; }
+    public Long getRegionOutOf() { return regionOutOf; }
+    public void setRegionOutOf(Long regionOutOf) { this.regionOutOf = regionOutOf; }
+    public Double getRegionPercentile() { return regionPercentile; }
+    public void setRegionPercentile(Double regionPercentile) { this.regionPercentile = regionPercentile; }
+}
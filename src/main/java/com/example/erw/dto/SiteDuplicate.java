@@ -0,0 +1,43 @@
+package com.example.erw.dto;
+
+public class SiteDuplicate {
+    private long siteId;
+    private String name;
+    private String region;
+    private long duplicateSiteId;
+    private String duplicateName;
+    private String duplicateRegion;
+    private double nameSimilarity;
+    private Double distanceKm; // null when either site has no coordinates
+
+    public SiteDuplicate() {}
+
+    public SiteDuplicate(long siteId, String name, String region, long duplicateSiteId, String duplicateName,
+                         String duplicateRegion, double nameSimilarity, Double distanceKm) {
+        this.siteId = siteId;
+        this.name = name;
+        this.region = region;
+        this.duplicateSiteId = duplicateSiteId;
+        this.duplicateName = duplicateName;
+        this.duplicateRegion = duplicateRegion;
+        this.nameSimilarity = nameSimilarity;
+        this.distanceKm = distanceKm;
+    }
+
+    public long getSiteId() { return siteId; }
+    public void setSiteId(long siteId) { this.siteId = siteId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    public long getDuplicateSiteId() { return duplicateSiteId; }
+    public void setDuplicateSiteId(long duplicateSiteId) { this.duplicateSiteId = duplicateSiteId; }
+    public String getDuplicateName() { return duplicateName; }
+    public void setDuplicateName(String duplicateName) { this.duplicateName = duplicateName; }
+    public String getDuplicateRegion() { return duplicateRegion; }
+    public void setDuplicateRegion(String duplicateRegion) { this.duplicateRegion = duplicateRegion; }
+    public double getNameSimilarity() { return nameSimilarity; }
+    public void setNameSimilarity(double nameSimilarity) { this.nameSimilarity = nameSimilarity; }
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+}
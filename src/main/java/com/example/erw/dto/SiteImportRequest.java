@@ -0,0 +1,18 @@
+package com.example.erw.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class SiteImportRequest {
+    @NotEmpty @Size(max = 10000) @Valid private List<ImportedSite> sites;
+
+    // "flag" skips near-duplicates and reports them; "merge" folds them into the existing site
+    @NotNull @Pattern(regexp = "flag|merge") private String mode = "flag";
+
+    public List<ImportedSite> getSites() { return sites; }
+    public void setSites(List<ImportedSite> sites) { this.sites = sites; }
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+}
@@ -0,0 +1,28 @@
+package com.example.erw.dto;
+
+import java.util.List;
+
+public class SiteImportResponse {
+    private int imported;
+    private int merged;
+    private int flagged;
+    private List<SiteImportResult> results;
+
+    public SiteImportResponse() {}
+
+    public SiteImportResponse(int imported, int merged, int flagged, List<SiteImportResult> results) {
+        this.imported = imported;
+        this.merged = merged;
+        this.flagged = flagged;
+        this.results = results;
+    }
+
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    public int getMerged() { return merged; }
+    public void setMerged(int merged) { this.merged = merged; }
+    public int getFlagged() { return flagged; }
+    public void setFlagged(int flagged) { this.flagged = flagged; }
+    public List<SiteImportResult> getResults() { return results; }
+    public void setResults(List<SiteImportResult> results) { this.results = results; }
+}
@@ -0,0 +1,38 @@
+package com.example.erw.dto;
+
+public class SiteImportResult {
+    private String name;
+    private String region;
+    private String status; // IMPORTED, MERGED or FLAGGED
+    private Long siteId;   // new site, or the existing site it was merged into
+    private Long matchedSiteId;
+    private String matchedName;
+    private Double nameSimilarity;
+    private Double distanceKm;
+
+    public SiteImportResult() {}
+
+    public SiteImportResult(String name, String region, String status, Long siteId) {
+        this.name = name;
+        this.region = region;
+        this.status = status;
+        this.siteId = siteId;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getSiteId() { return siteId; }
+    public void setSiteId(Long siteId) { this.siteId = siteId; }
+    public Long getMatchedSiteId() { return matchedSiteId; }
+    public void setMatchedSiteId(Long matchedSiteId) { this.matchedSiteId = matchedSiteId; }
+    public String getMatchedName() { return matchedName; }
+    public void setMatchedName(String matchedName) { this.matchedName = matchedName; }
+    public Double getNameSimilarity() { return nameSimilarity; }
+    public void setNameSimilarity(Double nameSimilarity) { this.nameSimilarity = nameSimilarity; }
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+}
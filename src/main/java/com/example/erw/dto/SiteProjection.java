@@ -0,0 +1,28 @@
+package com.example.erw.dto;
+
+import java.util.List;
+
+public class SiteProjection {
+    private double score;
+    private double projectCapacityHectares;
+    private int reusedYears; // leading years served from cached year-states
+    private List<ProjectionYear> years;
+
+    public SiteProjection() {}
+
+    public SiteProjection(double score, double projectCapacityHectares, int reusedYears, List<ProjectionYear> years) {
+        this.score = score;
+        this.projectCapacityHectares = projectCapacityHectares;
+        this.reusedYears = reusedYears;
+        this.years = years;
+    }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    public double getProjectCapacityHectares() { return projectCapacityHectares; }
+    public void setProjectCapacityHectares(double projectCapacityHectares) { this.projectCapacityHectares = projectCapacityHectares; }
+    public int getReusedYears() { return reusedYears; }
+    public void setReusedYears(int reusedYears) { this.reusedYears = reusedYears; }
+    public List<ProjectionYear> getYears() { return years; }
+    public void setYears(List<ProjectionYear> years) { this.years = years; }
+}
@@ -2,6 +2,8 @@ package com.example.erw.dto;
 
 import jakarta.validation.constraints.*;
 
+import java.util.Objects;
+
 public class SiteScoreRequest {
     // Basic Location
     @NotNull private Double latitude;
@@ -34,6 +36,9 @@ public class SiteScoreRequest {
     @NotNull @DecimalMin("0.0") @DecimalMax("50.0") private Double soilCecMeqPer100g; // Cation exchange capacity
     @NotNull @DecimalMin("0.0") @DecimalMax("1.0") private Double monitoringCapabilityIndex; // MRV infrastructure 0-1
 
+    // Optional: also rank the result against other sites scored for this region
+    @Size(max = 255) private String region;
+
     // Getters and Setters
     public Double getLatitude() { return latitude; }
     public void setLatitude(Double latitude) { this.latitude = latitude; }
@@ -82,4 +87,45 @@ public class SiteScoreRequest {
     public void setSoilCecMeqPer100g(Double soilCecMeqPer100g) { this.soilCecMeqPer100g = soilCecMeqPer100g; }
     public Double getMonitoringCapabilityIndex() { return monitoringCapabilityIndex; }
     public void setMonitoringCapabilityIndex(Double monitoringCapabilityIndex) { this.monitoringCapabilityIndex = monitoringCapabilityIndex; }
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+
+    // Value semantics over the scoring inputs, so identical requests can share cached projections and
+    // computations; region only labels the site for ranking and is left out
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SiteScoreRequest that)) return false;
+        return Objects.equals(latitude, that.latitude) &&
+               Objects.equals(longitude, that.longitude) &&
+               Objects.equals(rainfallMm, that.rainfallMm) &&
+               Objects.equals(soilPh, that.soilPh) &&
+               Objects.equals(avgTemperatureC, that.avgTemperatureC) &&
+               Objects.equals(distanceToRoadKm, that.distanceToRoadKm) &&
+               Objects.equals(basaltTransportDistanceKm, that.basaltTransportDistanceKm) &&
+               Objects.equals(basaltAvailabilityIndex, that.basaltAvailabilityIndex) &&
+               Objects.equals(infrastructureQualityIndex, that.infrastructureQualityIndex) &&
+               Objects.equals(agriculturalLandHectares, that.agriculturalLandHectares) &&
+               Objects.equals(populationDensityPerKm2, that.populationDensityPerKm2) &&
+               Objects.equals(energyCostPerKWh, that.energyCostPerKWh) &&
+               Objects.equals(laborCostPerHour, that.laborCostPerHour) &&
+               Objects.equals(annualRainfallVariability, that.annualRainfallVariability) &&
+               Objects.equals(soilOrganicCarbonPercent, that.soilOrganicCarbonPercent) &&
+               Objects.equals(elevationMeters, that.elevationMeters) &&
+               Objects.equals(regulatoryStabilityIndex, that.regulatoryStabilityIndex) &&
+               Objects.equals(soilMoisturePercent, that.soilMoisturePercent) &&
+               Objects.equals(carbonMarketAccessibility, that.carbonMarketAccessibility) &&
+               Objects.equals(soilCecMeqPer100g, that.soilCecMeqPer100g) &&
+               Objects.equals(monitoringCapabilityIndex, that.monitoringCapabilityIndex);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(latitude, longitude, rainfallMm, soilPh,
+                            avgTemperatureC, distanceToRoadKm, basaltTransportDistanceKm, basaltAvailabilityIndex,
+                            infrastructureQualityIndex, agriculturalLandHectares, populationDensityPerKm2, energyCostPerKWh,
+                            laborCostPerHour, annualRainfallVariability, soilOrganicCarbonPercent, elevationMeters,
+                            regulatoryStabilityIndex, soilMoisturePercent, carbonMarketAccessibility, soilCecMeqPer100g,
+                            monitoringCapabilityIndex);
+    }
 }
@@ -25,6 +25,9 @@ public class SiteScoreResponse {
     private double projectCapacityHectares;
     private String sustainabilityGrade;
 
+    // Where the score and each breakdown value stand among all scored sites, keyed like breakdown plus "score"
+    private Map<String, ScoreRank> ranks;
+
     public SiteScoreResponse() {}
 
     public SiteScoreResponse(double score, Map<String, Double> breakdown) {
@@ -64,4 +67,6 @@ public class SiteScoreResponse {
     public void setProjectCapacityHectares(double projectCapacityHectares) { this.projectCapacityHectares = projectCapacityHectares; }
     public String getSustainabilityGrade() { return sustainabilityGrade; }
     public void setSustainabilityGrade(String sustainabilityGrade) { this.sustainabilityGrade = sustainabilityGrade; }
+    public Map<String, ScoreRank> getRanks() { return ranks; }
+    public void setRanks(Map<String, ScoreRank> ranks) { this.ranks = ranks; }
 }
@@ -0,0 +1,28 @@
+package com.example.erw.dto;
+
+import java.util.List;
+
+public class SiteStatsResponse {
+    private long totalSites;
+    private double histogramBinWidth;
+    private RegionScoreStats overall;
+    private List<RegionScoreStats> regions;
+
+    public SiteStatsResponse() {}
+
+    public SiteStatsResponse(long totalSites, double histogramBinWidth, RegionScoreStats overall, List<RegionScoreStats> regions) {
+        this.totalSites = totalSites;
+        this.histogramBinWidth = histogramBinWidth;
+        this.overall = overall;
+        this.regions = regions;
+    }
+
+    public long getTotalSites() { return totalSites; }
+    public void setTotalSites(long totalSites) { this.totalSites = totalSites; }
+    public double getHistogramBinWidth() { return histogramBinWidth; }
+    public void setHistogramBinWidth(double histogramBinWidth) { this.histogramBinWidth = histogramBinWidth; }
+    public RegionScoreStats getOverall() { return overall; }
+    public void setOverall(RegionScoreStats overall) { this.overall = overall; }
+    public List<RegionScoreStats> getRegions() { return regions; }
+    public void setRegions(List<RegionScoreStats> regions) { this.regions = regions; }
+}
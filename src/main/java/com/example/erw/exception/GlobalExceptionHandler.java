@@ -27,6 +27,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(InvalidRankSnapshotException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRankSnapshot(InvalidRankSnapshotException ex) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", "InvalidRankSnapshot");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneric(Exception ex) {
         Map<String, String> body = new HashMap<>();
@@ -0,0 +1,12 @@
+package com.example.erw.exception;
+
+/**
+ * A peer rank snapshot that cannot be merged, e.g. wrong bucket count or too
+ * many regions. Reported as 400 by {@link GlobalExceptionHandler}.
+ */
+public class InvalidRankSnapshotException extends RuntimeException {
+
+    public InvalidRankSnapshotException(String message) {
+        super(message);
+    }
+}
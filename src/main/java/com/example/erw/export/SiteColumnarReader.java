@@ -0,0 +1,177 @@
+package com.example.erw.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped reader for files produced by {@link SiteColumnarWriter}.
+ *
+ * Only the footer is read eagerly. Each row group is mapped on demand and its
+ * numeric columns are returned as views over the mapping, so scans run directly
+ * against the page cache without copying into the heap. Row groups are mapped
+ * individually, which keeps files larger than 2 GB readable.
+ */
+public class SiteColumnarReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long[] groupOffsets;
+    private final long footerStart;
+    private final long rowCount;
+
+    private SiteColumnarReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < SiteColumnarWriter.HEADER_BYTES + SiteColumnarWriter.TRAILER_BYTES) {
+            throw new IOException("Not an ERW columnar file: too short");
+        }
+
+        ByteBuffer header = map(0, SiteColumnarWriter.HEADER_BYTES);
+        checkMagic(header, 0);
+        int version = header.getInt(4);
+        if (version != SiteColumnarWriter.VERSION) {
+            throw new IOException("Unsupported ERW columnar version " + version);
+        }
+
+        ByteBuffer trailer = map(size - SiteColumnarWriter.TRAILER_BYTES, SiteColumnarWriter.TRAILER_BYTES);
+        checkMagic(trailer, 4);
+        int footerLength = trailer.getInt(0);
+        this.footerStart = size - SiteColumnarWriter.TRAILER_BYTES - footerLength;
+
+        ByteBuffer footer = map(footerStart, footerLength);
+        int groupCount = footer.getInt(0);
+        this.groupOffsets = new long[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groupOffsets[i] = footer.getLong(8 + i * 8);
+        }
+        this.rowCount = footer.getLong(8 + groupCount * 8);
+    }
+
+    public static SiteColumnarReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new SiteColumnarReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public int rowGroupCount() {
+        return groupOffsets.length;
+    }
+
+    public RowGroup rowGroup(int index) throws IOException {
+        long start = groupOffsets[index];
+        long end = index + 1 < groupOffsets.length ? groupOffsets[index + 1] : footerStart;
+        return new RowGroup(map(start, end - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer map(long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Row group too large to map: " + length + " bytes");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static void checkMagic(ByteBuffer buffer, int offset) throws IOException {
+        byte[] magic = new byte[SiteColumnarWriter.MAGIC.length];
+        buffer.get(offset, magic);
+        if (!Arrays.equals(magic, SiteColumnarWriter.MAGIC)) {
+            throw new IOException("Not an ERW columnar file: bad magic");
+        }
+    }
+
+    /**
+     * Column views over one mapped row group. Buffers share the mapping and are
+     * valid only while the reader is open.
+     */
+    public static final class RowGroup {
+        private final int rowCount;
+        private final LongBuffer ids;
+        private final DoubleBuffer latitudes;
+        private final DoubleBuffer longitudes;
+        private final DoubleBuffer scores;
+        private final StringColumn names;
+        private final StringColumn regions;
+
+        private RowGroup(ByteBuffer group) {
+            int n = group.getInt(0);
+            this.rowCount = n;
+            this.ids = slice(group, 8, n * 8).asLongBuffer();
+            this.latitudes = slice(group, 8 + n * 8, n * 8).asDoubleBuffer();
+            this.longitudes = slice(group, 8 + n * 16, n * 8).asDoubleBuffer();
+            this.scores = slice(group, 8 + n * 24, n * 8).asDoubleBuffer();
+            int namesStart = 8 + n * 32;
+            this.names = new StringColumn(group, namesStart, n);
+            this.regions = new StringColumn(group, namesStart + names.encodedSize(), n);
+        }
+
+        public int rowCount() { return rowCount; }
+        public LongBuffer ids() { return ids.duplicate(); }
+        public DoubleBuffer latitudes() { return latitudes.duplicate(); }
+        public DoubleBuffer longitudes() { return longitudes.duplicate(); }
+        public DoubleBuffer scores() { return scores.duplicate(); }
+
+        public long id(int row) { return ids.get(row); }
+        public double score(int row) { return scores.get(row); }
+        public Double latitude(int row) { return nullIfNaN(latitudes.get(row)); }
+        public Double longitude(int row) { return nullIfNaN(longitudes.get(row)); }
+        public String name(int row) { return names.get(row); }
+        public String region(int row) { return regions.get(row); }
+
+        private static Double nullIfNaN(double value) {
+            return Double.isNaN(value) ? null : value;
+        }
+    }
+
+    private static final class StringColumn {
+        private final ByteBuffer offsets;
+        private final ByteBuffer bytes;
+        private final int byteLength;
+        private final int rowCount;
+
+        StringColumn(ByteBuffer group, int start, int rowCount) {
+            this.rowCount = rowCount;
+            this.byteLength = group.getInt(start);
+            this.offsets = slice(group, start + 4, (rowCount + 1) * 4);
+            this.bytes = slice(group, start + 4 + (rowCount + 1) * 4, byteLength);
+        }
+
+        String get(int row) {
+            int from = offsets.getInt(row * 4);
+            int to = offsets.getInt((row + 1) * 4);
+            byte[] value = new byte[to - from];
+            bytes.get(from, value);
+            return new String(value, StandardCharsets.UTF_8);
+        }
+
+        int encodedSize() {
+            return SiteColumnarWriter.padTo8(4 + (rowCount + 1) * 4 + byteLength);
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int index, int length) {
+        return buffer.slice(index, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.erw.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming writer for the ERW columnar site format (.erwc).
+ *
+ * Rows are buffered into fixed-size row groups and each group is written column by
+ * column, so memory stays bounded by the row group size however many sites are
+ * exported. All values are little-endian and every column starts on an 8-byte
+ * boundary so {@link SiteColumnarReader} can expose memory-mapped, zero-copy views.
+ *
+ * Layout:
+ * <pre>
+ * header    "ERWC" magic, int32 version
+ * group*    int32 rowCount, int32 padding,
+ *           int64[n] id, float64[n] latitude, float64[n] longitude, float64[n] score,
+ *           name column, region column
+ *           (string column: int32 byteLength, int32[n + 1] offsets, UTF-8 bytes, pad to 8)
+ * footer    int32 groupCount, int32 padding, int64[groupCount] groupOffsets, int64 totalRows,
+ *           int32 footerLength, "ERWC" magic
+ * </pre>
+ * Missing coordinates are stored as NaN.
+ */
+public class SiteColumnarWriter implements Closeable {
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 65_536;
+
+    static final byte[] MAGIC = "ERWC".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 8;
+
+    private final OutputStream out;
+    private final int rowGroupSize;
+
+    private final long[] ids;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] scores;
+    private final StringColumn names;
+    private final StringColumn regions;
+    private int buffered;
+
+    private long[] groupOffsets = new long[16];
+    private int groupCount;
+    private long position;
+    private long totalRows;
+    private boolean closed;
+
+    public SiteColumnarWriter(OutputStream out) throws IOException {
+        this(out, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public SiteColumnarWriter(OutputStream out, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("rowGroupSize must be positive");
+        }
+        this.out = out;
+        this.rowGroupSize = rowGroupSize;
+        this.ids = new long[rowGroupSize];
+        this.latitudes = new double[rowGroupSize];
+        this.longitudes = new double[rowGroupSize];
+        this.scores = new double[rowGroupSize];
+        this.names = new StringColumn(rowGroupSize);
+        this.regions = new StringColumn(rowGroupSize);
+
+        ByteBuffer header = newBuffer(HEADER_BYTES);
+        header.put(MAGIC).putInt(VERSION);
+        emit(header);
+    }
+
+    public void write(long id, String name, String region, Double latitude, Double longitude, double score) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        ids[buffered] = id;
+        latitudes[buffered] = latitude != null ? latitude : Double.NaN;
+        longitudes[buffered] = longitude != null ? longitude : Double.NaN;
+        scores[buffered] = score;
+        names.add(name);
+        regions.add(region);
+        buffered++;
+        totalRows++;
+
+        if (buffered == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long rowCount() {
+        return totalRows;
+    }
+
+    /**
+     * Writes any buffered rows and the footer. The underlying stream is flushed but not closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        flushRowGroup();
+
+        int footerLength = 8 + groupCount * 8 + 8;
+        ByteBuffer footer = newBuffer(footerLength + TRAILER_BYTES);
+        footer.putInt(groupCount).putInt(0);
+        for (int i = 0; i < groupCount; i++) {
+            footer.putLong(groupOffsets[i]);
+        }
+        footer.putLong(totalRows);
+        footer.putInt(footerLength).put(MAGIC);
+        emit(footer);
+        out.flush();
+        closed = true;
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (buffered == 0) return;
+
+        int n = buffered;
+        int size = 8 + n * 8 * 4 + names.encodedSize() + regions.encodedSize();
+        ByteBuffer group = newBuffer(size);
+        group.putInt(n).putInt(0);
+        for (int i = 0; i < n; i++) group.putLong(ids[i]);
+        for (int i = 0; i < n; i++) group.putDouble(latitudes[i]);
+        for (int i = 0; i < n; i++) group.putDouble(longitudes[i]);
+        for (int i = 0; i < n; i++) group.putDouble(scores[i]);
+        names.encodeTo(group);
+        regions.encodeTo(group);
+
+        if (groupCount == groupOffsets.length) {
+            groupOffsets = Arrays.copyOf(groupOffsets, groupCount * 2);
+        }
+        groupOffsets[groupCount++] = position;
+        emit(group);
+
+        names.clear();
+        regions.clear();
+        buffered = 0;
+    }
+
+    private void emit(ByteBuffer buffer) throws IOException {
+        out.write(buffer.array(), 0, buffer.position());
+        position += buffer.position();
+    }
+
+    private static ByteBuffer newBuffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static int padTo8(int length) {
+        return (length + 7) & ~7;
+    }
+
+    private static final class StringColumn {
+        private final int[] offsets;
+        private byte[] bytes = new byte[1024];
+        private int count;
+
+        StringColumn(int capacity) {
+            this.offsets = new int[capacity + 1];
+        }
+
+        void add(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            int start = offsets[count];
+            if (start + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + encoded.length));
+            }
+            System.arraycopy(encoded, 0, bytes, start, encoded.length);
+            offsets[++count] = start + encoded.length;
+        }
+
+        int encodedSize() {
+            return padTo8(4 + (count + 1) * 4 + offsets[count]);
+        }
+
+        void encodeTo(ByteBuffer buffer) {
+            int start = buffer.position();
+            buffer.putInt(offsets[count]);
+            for (int i = 0; i <= count; i++) buffer.putInt(offsets[i]);
+            buffer.put(bytes, 0, offsets[count]);
+            buffer.position(start + encodedSize());
+        }
+
+        void clear() {
+            count = 0;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.erw.model;
 
+import com.example.erw.dedup.SiteDedupListener;
+import com.example.erw.stats.SiteStatsListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "site",
        uniqueConstraints = @UniqueConstraint(columnNames = {"name","region"}))
+@EntityListeners({SiteStatsListener.class, SiteDedupListener.class})
 public class Site {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +26,10 @@ public class Site {
     @Column(nullable = false)
     private Double score = 0.0;
 
+    // Last values read from or written to the database, so listeners can see what an update replaced
+    @Transient private String persistedRegion;
+    @Transient private Double persistedScore;
+
     public Site() {}
 
     public Site(String name, String region, Double latitude, Double longitude, Double score) {
@@ -32,6 +40,15 @@ public class Site {
         this.score = score;
     }
 
+    // Entity callbacks run after the entity listeners, so this refreshes the snapshot last
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void snapshotPersistedState() {
+        this.persistedRegion = region;
+        this.persistedScore = score;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getName() { return name; }
@@ -44,4 +61,6 @@ public class Site {
     public void setLongitude(Double longitude) { this.longitude = longitude; }
     public Double getScore() { return score; }
     public void setScore(Double score) { this.score = score; }
+    @JsonIgnore public String getPersistedRegion() { return persistedRegion; }
+    @JsonIgnore public Double getPersistedScore() { return persistedScore; }
 }
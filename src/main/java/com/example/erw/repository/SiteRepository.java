@@ -4,10 +4,29 @@ import com.example.erw.model.Site;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Optional;
 
+// Query methods run read-only so they are routed to the read pool (see DatabaseConfig)
+@Transactional(readOnly = true)
 public interface SiteRepository extends JpaRepository<Site, Long> {
     List<Site> findByRegionIgnoreCase(String region, Sort sort);
     List<Site> findByRegionIgnoreCase(String region, Pageable pageable);
     long countByRegionIgnoreCase(String region);
+    Optional<Site> findByNameAndRegion(String name, String region);
+
+    // One row per (region, 0.01 score bucket): [region, bucket, count, sum].
+    // Read from the primary so a stats rebuild never rolls back to a lagging replica.
+    @Transactional
+    @Query(value = "SELECT region, CAST(ROUND(score * 100) AS INTEGER) AS bucket, COUNT(*), SUM(score) " +
+                   "FROM site GROUP BY region, bucket", nativeQuery = true)
+    List<Object[]> aggregateScoreBuckets();
+
+    // Just the columns the dedup index needs: [id, name, region, latitude, longitude].
+    // Also read from the primary: the index must see every committed site.
+    @Transactional
+    @Query("SELECT s.id, s.name, s.region, s.latitude, s.longitude FROM Site s")
+    List<Object[]> findDedupKeys();
 }
@@ -0,0 +1,8 @@
+package com.example.erw.service;
+
+import com.example.erw.dto.ProjectionRequest;
+import com.example.erw.dto.ProjectionResponse;
+
+public interface CarbonProjectionService {
+    ProjectionResponse project(ProjectionRequest req);
+}
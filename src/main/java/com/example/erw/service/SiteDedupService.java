@@ -0,0 +1,17 @@
+package com.example.erw.service;
+
+import com.example.erw.dto.SiteDuplicate;
+import com.example.erw.dto.SiteImportRequest;
+import com.example.erw.dto.SiteImportResponse;
+
+import java.util.List;
+
+public interface SiteDedupService {
+    SiteImportResponse importSites(SiteImportRequest req);
+
+    List<SiteDuplicate> findDuplicates();
+
+    void indexSite(long id, String name, String region, Double latitude, Double longitude);
+
+    void unindexSite(long id);
+}
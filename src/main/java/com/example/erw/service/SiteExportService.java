@@ -0,0 +1,13 @@
+package com.example.erw.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface SiteExportService {
+    /**
+     * Write every site with its score to the stream in the ERW columnar format.
+     *
+     * @return number of sites written
+     */
+    long exportSites(OutputStream out) throws IOException;
+}
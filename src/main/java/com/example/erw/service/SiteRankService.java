@@ -0,0 +1,13 @@
+package com.example.erw.service;
+
+import com.example.erw.dto.RankSnapshot;
+import com.example.erw.dto.SiteScoreRequest;
+import com.example.erw.dto.SiteScoreResponse;
+
+public interface SiteRankService {
+    void recordAndRank(SiteScoreRequest req, SiteScoreResponse response);
+
+    RankSnapshot snapshot();
+
+    void mergePeer(RankSnapshot snapshot);
+}
@@ -0,0 +1,14 @@
+package com.example.erw.service;
+
+import com.example.erw.dto.SiteStatsResponse;
+
+public interface SiteStatsService {
+    SiteStatsResponse getStats();
+
+    void recordSite(String region, double score);
+
+    void removeSite(String region, double score);
+
+    /** Whether the site table has a site in this region, ignoring case and surrounding whitespace. */
+    boolean hasRegion(String region);
+}
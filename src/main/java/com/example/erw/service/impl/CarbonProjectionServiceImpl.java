@@ -0,0 +1,221 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dto.ProjectionRequest;
+import com.example.erw.dto.ProjectionResponse;
+import com.example.erw.dto.ProjectionYear;
+import com.example.erw.dto.SiteProjection;
+import com.example.erw.dto.SiteScoreRequest;
+import com.example.erw.service.CarbonProjectionService;
+import com.example.erw.service.SiteScoringService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.erw.service.impl.SiteScoringServiceImpl.BASALT_APPLICATION_TONS_PER_HECTARE;
+import static com.example.erw.service.impl.SiteScoringServiceImpl.BASALT_COST_PER_TON;
+import static com.example.erw.service.impl.SiteScoringServiceImpl.BASE_HECTARES;
+import static com.example.erw.service.impl.SiteScoringServiceImpl.calculateCo2RemovalRate;
+import static com.example.erw.service.impl.SiteScoringServiceImpl.calculateEquipmentCost;
+import static com.example.erw.service.impl.SiteScoringServiceImpl.calculateLaborCostTotal;
+import static com.example.erw.service.impl.SiteScoringServiceImpl.calculateTransportCost;
+import static com.example.erw.service.impl.SiteScoringServiceImpl.calculateTransportEmissions;
+
+/**
+ * Multi-year carbon and cost projection built on the steady-state scoring model.
+ *
+ * Applied basalt enters an unweathered pool that weathers with first-order decay
+ * (a fixed fraction of the remaining pool each year, set by the half-life). Each
+ * ton eventually removes the same CO2 as in {@link SiteScoringServiceImpl}, so a
+ * constant 3 t/ha schedule converges to the steady-state annual figures. Costs and
+ * transport emissions follow the tons actually applied in each year; labor and
+ * equipment are only incurred in application years.
+ *
+ * Year n depends only on year n-1 and year n's inputs, so per-site year-states are
+ * cached and a request that changes year k recomputes years k..horizon only.
+ * Sites are projected in parallel.
+ */
+@Service
+public class CarbonProjectionServiceImpl implements CarbonProjectionService {
+
+    private static final double MIN_CARBON_PRICE = 57.0;  // Frontier-verified contract range
+    private static final double MAX_CARBON_PRICE = 180.0;
+    private static final int MAX_CACHED_SITES = 1024;
+
+    private final SiteScoringService siteScoringService;
+
+    // LRU of year-state chains keyed by site parameters and weathering half-life
+    private final Map<ChainKey, YearChain> chains = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ChainKey, YearChain> eldest) {
+                    return size() > MAX_CACHED_SITES;
+                }
+            });
+
+    public CarbonProjectionServiceImpl(SiteScoringService siteScoringService) {
+        this.siteScoringService = siteScoringService;
+    }
+
+    @Override
+    public ProjectionResponse project(ProjectionRequest req) {
+        int horizon = req.getHorizonYears();
+        double[] tonsPerHectare = schedule(req.getApplicationTonsPerHectare(), horizon, BASALT_APPLICATION_TONS_PER_HECTARE, BASALT_APPLICATION_TONS_PER_HECTARE);
+        double[] prices = schedule(req.getCarbonPriceUsdPerTon(), horizon, MIN_CARBON_PRICE, MAX_CARBON_PRICE);
+        double weatheredPerYear = 1.0 - Math.pow(0.5, 1.0 / req.getWeatheringHalfLifeYears());
+
+        List<YearChain> projected = req.getSites().parallelStream()
+                .map(site -> projectSite(site, req.getWeatheringHalfLifeYears(), weatheredPerYear, tonsPerHectare, prices))
+                .toList();
+
+        List<SiteProjection> sites = new ArrayList<>(projected.size());
+        for (YearChain chain : projected) {
+            sites.add(new SiteProjection(round(chain.score), chain.hectares, chain.reusedYears, toYears(chain.states, horizon)));
+        }
+        return new ProjectionResponse(horizon, sites, portfolio(projected, horizon));
+    }
+
+    private YearChain projectSite(SiteScoreRequest site, double halfLife, double weatheredPerYear,
+                                  double[] tonsPerHectare, double[] prices) {
+        ChainKey key = new ChainKey(site, halfLife);
+        YearChain cached = chains.get(key);
+
+        double score = cached != null ? cached.score : siteScoringService.scoreSite(site).getScore();
+        double hectares = Math.min(site.getAgriculturalLandHectares(), BASE_HECTARES);
+        int horizon = tonsPerHectare.length;
+
+        // Reuse the longest prefix of cached years whose inputs are unchanged
+        int reused = 0;
+        if (cached != null) {
+            int limit = Math.min(horizon, cached.states.length);
+            while (reused < limit
+                    && cached.states[reused].tonsPerHectare == tonsPerHectare[reused]
+                    && cached.states[reused].price == prices[reused]) {
+                reused++;
+            }
+        }
+
+        if (cached != null && reused >= horizon) {
+            // Every requested year is cached; keep the full chain for longer horizons
+            return new YearChain(score, hectares, cached.states, horizon);
+        }
+
+        YearState[] states = new YearState[horizon];
+        if (reused > 0) {
+            System.arraycopy(cached.states, 0, states, 0, reused);
+        }
+        double co2PerTon = calculateCo2RemovalRate(site.getAvgTemperatureC(), site.getRainfallMm()) * score;
+        for (int y = reused; y < horizon; y++) {
+            states[y] = nextYear(y > 0 ? states[y - 1] : null, site, hectares, co2PerTon, weatheredPerYear,
+                    tonsPerHectare[y], prices[y]);
+        }
+
+        YearChain chain = new YearChain(score, hectares, states, reused);
+        chains.put(key, chain);
+        return chain;
+    }
+
+    private static YearState nextYear(YearState previous, SiteScoreRequest site, double hectares, double co2PerTon,
+                                      double weatheredPerYear, double tonsPerHectare, double price) {
+        double applied = tonsPerHectare * hectares;
+        double pool = (previous != null ? previous.unweatheredTons : 0) + applied;
+        double weathered = pool * weatheredPerYear;
+
+        double removalKg = weathered * co2PerTon;
+        double emissionsKg = calculateTransportEmissions(applied, site.getBasaltTransportDistanceKm());
+        double cost = applied * BASALT_COST_PER_TON + calculateTransportCost(applied, site.getBasaltTransportDistanceKm());
+        if (applied > 0) {
+            cost += calculateLaborCostTotal(hectares, site.getLaborCostPerHour())
+                  + calculateEquipmentCost(hectares, site.getInfrastructureQualityIndex());
+        }
+        double revenue = removalKg / 1000.0 * price;
+        double net = removalKg - emissionsKg;
+
+        return new YearState(tonsPerHectare, price, applied, pool - weathered, removalKg, emissionsKg, cost, revenue,
+                (previous != null ? previous.cumulativeNetKg : 0) + net,
+                (previous != null ? previous.cumulativeCostUsd : 0) + cost,
+                (previous != null ? previous.cumulativeRevenueUsd : 0) + revenue);
+    }
+
+    private static List<ProjectionYear> toYears(YearState[] states, int horizon) {
+        List<ProjectionYear> years = new ArrayList<>(horizon);
+        for (int y = 0; y < horizon; y++) {
+            YearState s = states[y];
+            years.add(toYear(y + 1, s.price, s.appliedTons, s.unweatheredTons, s.removalKg, s.emissionsKg,
+                    s.costUsd, s.revenueUsd, s.cumulativeNetKg, s.cumulativeCostUsd, s.cumulativeRevenueUsd));
+        }
+        return years;
+    }
+
+    private static List<ProjectionYear> portfolio(List<YearChain> chains, int horizon) {
+        List<ProjectionYear> years = new ArrayList<>(horizon);
+        for (int y = 0; y < horizon; y++) {
+            double applied = 0, unweathered = 0, removal = 0, emissions = 0, cost = 0, revenue = 0;
+            double cumNet = 0, cumCost = 0, cumRevenue = 0, price = 0;
+            for (YearChain chain : chains) {
+                YearState s = chain.states[y];
+                price = s.price;
+                applied += s.appliedTons;
+                unweathered += s.unweatheredTons;
+                removal += s.removalKg;
+                emissions += s.emissionsKg;
+                cost += s.costUsd;
+                revenue += s.revenueUsd;
+                cumNet += s.cumulativeNetKg;
+                cumCost += s.cumulativeCostUsd;
+                cumRevenue += s.cumulativeRevenueUsd;
+            }
+            years.add(toYear(y + 1, price, applied, unweathered, removal, emissions, cost, revenue, cumNet, cumCost, cumRevenue));
+        }
+        return years;
+    }
+
+    private static ProjectionYear toYear(int year, double price, double applied, double unweathered, double removal,
+                                         double emissions, double cost, double revenue,
+                                         double cumNet, double cumCost, double cumRevenue) {
+        ProjectionYear py = new ProjectionYear(year);
+        py.setCarbonPriceUsdPerTon(round(price));
+        py.setBasaltAppliedTons(round(applied));
+        py.setUnweatheredBasaltTons(round(unweathered));
+        py.setCarbonRemovalKg(round(removal));
+        py.setCo2EmissionsKg(round(emissions));
+        py.setNetCarbonImpactKg(round(removal - emissions));
+        py.setCostUsd(round(cost));
+        py.setRevenueUsd(round(revenue));
+        py.setCumulativeNetCarbonImpactKg(round(cumNet));
+        py.setCumulativeCostUsd(round(cumCost));
+        py.setCumulativeRevenueUsd(round(cumRevenue));
+        return py;
+    }
+
+    /**
+     * Expand a per-year schedule to the horizon; the last entry repeats. Without a
+     * schedule, ramp linearly from {@code first} to {@code last}.
+     */
+    private static double[] schedule(List<Double> values, int horizon, double first, double last) {
+        double[] out = new double[horizon];
+        for (int y = 0; y < horizon; y++) {
+            if (values != null && !values.isEmpty()) {
+                out[y] = values.get(Math.min(y, values.size() - 1));
+            } else {
+                out[y] = horizon > 1 ? first + (last - first) * y / (horizon - 1) : first;
+            }
+        }
+        return out;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+
+    private record ChainKey(SiteScoreRequest site, double halfLife) {}
+
+    private record YearChain(double score, double hectares, YearState[] states, int reusedYears) {}
+
+    private record YearState(double tonsPerHectare, double price, double appliedTons, double unweatheredTons,
+                             double removalKg, double emissionsKg, double costUsd, double revenueUsd,
+                             double cumulativeNetKg, double cumulativeCostUsd, double cumulativeRevenueUsd) {}
+}
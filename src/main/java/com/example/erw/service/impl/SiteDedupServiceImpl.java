@@ -0,0 +1,223 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dedup.DedupMatch;
+import com.example.erw.dedup.SiteDedupIndex;
+import com.example.erw.dto.ImportedSite;
+import com.example.erw.dto.SiteDuplicate;
+import com.example.erw.dto.SiteImportRequest;
+import com.example.erw.dto.SiteImportResponse;
+import com.example.erw.dto.SiteImportResult;
+import com.example.erw.model.Site;
+import com.example.erw.repository.SiteRepository;
+import com.example.erw.service.SiteDedupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Site import with near-duplicate detection.
+ *
+ * The index is built from the site table and afterwards kept current by
+ * {@link com.example.erw.dedup.SiteDedupListener} on every committed write. Each
+ * imported row is checked against it and against the rows already written by the
+ * same import, which only reach the shared index once the import commits.
+ *
+ * The listener only sees writes made through this instance, so the index is
+ * also rebuilt periodically (app.dedup.reconcile-interval-ms), and an exact
+ * (name, region) collision is checked against the database before inserting.
+ *
+ * Listener changes that arrive while the table is being read are replayed onto
+ * the new index before it replaces the old one. Adds and removes are keyed by
+ * site id, so replaying a change the snapshot already contains is harmless.
+ */
+@Service
+public class SiteDedupServiceImpl implements SiteDedupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SiteDedupServiceImpl.class);
+
+    private final SiteRepository siteRepository;
+    private final Object loadLock = new Object();
+    private final Object updateLock = new Object();
+    private volatile SiteDedupIndex index = new SiteDedupIndex();
+    private volatile boolean loaded;
+    // Listener changes that arrive while a load is reading the table; guarded by updateLock
+    private List<Consumer<SiteDedupIndex>> pending;
+
+    public SiteDedupServiceImpl(SiteRepository siteRepository) {
+        this.siteRepository = siteRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            ensureLoaded();
+        } catch (DataAccessException e) {
+            // Retried on the first import or duplicates request
+            log.warn("Could not build the site dedup index at startup: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.dedup.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.dedup.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            synchronized (loadLock) {
+                load();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild the site dedup index: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public SiteImportResponse importSites(SiteImportRequest req) {
+        ensureLoaded();
+        boolean merge = "merge".equals(req.getMode());
+        SiteDedupIndex batch = new SiteDedupIndex();
+
+        List<SiteImportResult> results = new ArrayList<>(req.getSites().size());
+        int imported = 0, merged = 0, flagged = 0;
+        for (ImportedSite row : req.getSites()) {
+            DedupMatch match = bestMatch(row, batch);
+            Site existing = match != null ? siteRepository.findById(match.getSiteId()).orElse(null) : null;
+            if (existing == null) {
+                // The index can trail writes from other instances; an exact (name, region) hit would
+                // otherwise fail the whole import on the unique constraint
+                existing = siteRepository.findByNameAndRegion(row.getName(), row.getRegion()).orElse(null);
+                if (existing != null) {
+                    match = new DedupMatch(existing.getId(), existing.getName(), existing.getRegion(), 1.0, null);
+                }
+            }
+
+            SiteImportResult result;
+            if (existing == null) {
+                // No match, or the matched site was deleted since it was indexed
+                Site site = siteRepository.save(new Site(row.getName(), row.getRegion(), row.getLatitude(),
+                        row.getLongitude(), row.getScore() != null ? row.getScore() : 0.0));
+                batch.add(site.getId(), site.getName(), site.getRegion(), site.getLatitude(), site.getLongitude());
+                result = new SiteImportResult(row.getName(), row.getRegion(), "IMPORTED", site.getId());
+                imported++;
+            } else if (merge) {
+                // Keep the existing name and region; fill gaps and take the newer score
+                if (existing.getLatitude() == null || existing.getLongitude() == null) {
+                    existing.setLatitude(row.getLatitude());
+                    existing.setLongitude(row.getLongitude());
+                }
+                if (row.getScore() != null) {
+                    existing.setScore(row.getScore());
+                }
+                siteRepository.save(existing);
+                batch.add(existing.getId(), existing.getName(), existing.getRegion(), existing.getLatitude(), existing.getLongitude());
+                result = new SiteImportResult(row.getName(), row.getRegion(), "MERGED", existing.getId());
+                merged++;
+            } else {
+                result = new SiteImportResult(row.getName(), row.getRegion(), "FLAGGED", null);
+                flagged++;
+            }
+
+            if (match != null && existing != null) {
+                result.setMatchedSiteId(match.getSiteId());
+                result.setMatchedName(match.getName());
+                result.setNameSimilarity(round(match.getNameSimilarity()));
+                result.setDistanceKm(match.getDistanceKm() != null ? round(match.getDistanceKm()) : null);
+            }
+            results.add(result);
+        }
+
+        log.info("Imported {} sites: {} new, {} merged, {} flagged as duplicates", results.size(), imported, merged, flagged);
+        return new SiteImportResponse(imported, merged, flagged, results);
+    }
+
+    @Override
+    public List<SiteDuplicate> findDuplicates() {
+        ensureLoaded();
+        List<SiteDuplicate> duplicates = new ArrayList<>();
+        for (SiteDedupIndex.DuplicatePair pair : index.duplicatePairs()) {
+            DedupMatch match = pair.match();
+            duplicates.add(new SiteDuplicate(pair.siteId(), pair.name(), pair.region(), match.getSiteId(),
+                    match.getName(), match.getRegion(), round(match.getNameSimilarity()),
+                    match.getDistanceKm() != null ? round(match.getDistanceKm()) : null));
+        }
+        return duplicates;
+    }
+
+    @Override
+    public void indexSite(long id, String name, String region, Double latitude, Double longitude) {
+        apply(target -> target.add(id, name, region, latitude, longitude));
+    }
+
+    @Override
+    public void unindexSite(long id) {
+        apply(target -> target.remove(id));
+    }
+
+    private void apply(Consumer<SiteDedupIndex> change) {
+        synchronized (updateLock) {
+            if (pending != null) {
+                pending.add(change);
+            }
+            change.accept(index);
+        }
+    }
+
+    private DedupMatch bestMatch(ImportedSite row, SiteDedupIndex batch) {
+        Optional<DedupMatch> existing = index.findMatch(row.getName(), row.getRegion(), row.getLatitude(), row.getLongitude());
+        Optional<DedupMatch> pending = batch.findMatch(row.getName(), row.getRegion(), row.getLatitude(), row.getLongitude());
+        if (existing.isEmpty()) return pending.orElse(null);
+        if (pending.isEmpty()) return existing.get();
+        return pending.get().getNameSimilarity() > existing.get().getNameSimilarity() ? pending.get() : existing.get();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (loadLock) {
+            if (!loaded) {
+                load();
+            }
+        }
+    }
+
+    /**
+     * Rebuild the index from the database and swap it in. Caller holds loadLock.
+     */
+    private void load() {
+        synchronized (updateLock) {
+            pending = new ArrayList<>();
+        }
+        SiteDedupIndex fresh = new SiteDedupIndex();
+        try {
+            for (Object[] row : siteRepository.findDedupKeys()) {
+                fresh.add(((Number) row[0]).longValue(), (String) row[1], (String) row[2], (Double) row[3], (Double) row[4]);
+            }
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (updateLock) {
+            for (Consumer<SiteDedupIndex> change : pending) {
+                change.accept(fresh);
+            }
+            pending = null;
+            index = fresh;
+            loaded = true;
+        }
+        log.debug("Built site dedup index over {} sites", fresh.size());
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
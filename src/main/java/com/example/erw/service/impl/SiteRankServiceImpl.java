@@ -0,0 +1,249 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dto.RankSnapshot;
+import com.example.erw.dto.ScoreRank;
+import com.example.erw.dto.SiteScoreRequest;
+import com.example.erw.dto.SiteScoreResponse;
+import com.example.erw.exception.InvalidRankSnapshotException;
+import com.example.erw.service.SiteRankService;
+import com.example.erw.service.SiteStatsService;
+import com.example.erw.stats.ScoreHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Percentile ranks for the overall score and every breakdown dimension.
+ *
+ * Each dimension keeps a {@link ScoreHistogram} over all scored sites and one per
+ * region, so recording and ranking are constant time and memory no matter how
+ * many sites have been scored. Breakdown values carry two decimals, which makes
+ * the 0.01 buckets exact rather than approximate.
+ *
+ * Instances exchange snapshots of the counts they recorded themselves (see
+ * {@link com.example.erw.stats.RankSnapshotPublisher}). The latest snapshot per
+ * peer is kept and added in at query time, so repeated or relayed snapshots
+ * never double count. A peer that stops sending (restarted under a new id, or
+ * scaled down) is dropped after PEER_TTL_INTERVALS exchange intervals; setting
+ * app.ranks.instance-id keeps the id stable across restarts so the replacement
+ * takes over at once. Snapshots are limited to the known dimensions and to
+ * MAX_REGIONS regions, which bounds each peer to about 1 MB.
+ *
+ * Scoring requests are unauthenticated, so a region only gets its own counts
+ * once the site table has a site there (per {@link SiteStatsService}). Of those,
+ * the MAX_REGIONS most recently ranked are kept.
+ */
+@Service
+public class SiteRankServiceImpl implements SiteRankService {
+
+    static final String OVERALL = "score";
+    // The overall score plus every SiteScoringServiceImpl breakdown key
+    static final Set<String> DIMENSIONS = Set.of(OVERALL, "environmental", "logistics", "economic", "soilPh",
+            "temperature", "rainfall", "roadAccess", "transport", "infrastructure", "basaltAvailability");
+    private static final int MAX_REGIONS = 100;
+    private static final int MAX_REGION_LENGTH = 255;
+    private static final int MAX_PEERS = 16;
+    private static final int PEER_TTL_INTERVALS = 3;
+    private static final int RECENT_REQUESTS = 10_000;
+
+    private final String instanceId;
+    private final Duration peerTtl;
+    private final Clock clock;
+    private final SiteStatsService siteStatsService;
+    private final Distribution local = new Distribution();
+    // Least recently ranked regions give way once MAX_REGIONS are tracked
+    private final Map<String, Distribution> localRegions = Collections.synchronizedMap(
+            new LinkedHashMap<>(128, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Distribution> eldest) {
+                    return size() > MAX_REGIONS;
+                }
+            });
+    private final ConcurrentMap<String, Peer> peers = new ConcurrentHashMap<>();
+
+    // Retries and demo loops re-score the same site; count each distinct site once
+    private final Set<RecentKey> recent = Collections.newSetFromMap(Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<RecentKey, Boolean> eldest) {
+                    return size() > RECENT_REQUESTS;
+                }
+            }));
+
+    @Autowired
+    public SiteRankServiceImpl(SiteStatsService siteStatsService,
+                               @Value("${app.ranks.instance-id:}") String instanceId,
+                               @Value("${app.ranks.exchange-interval-ms:30000}") long exchangeIntervalMs) {
+        this(siteStatsService, instanceId, Duration.ofMillis(exchangeIntervalMs * PEER_TTL_INTERVALS), Clock.systemUTC());
+    }
+
+    SiteRankServiceImpl(SiteStatsService siteStatsService, String instanceId, Duration peerTtl, Clock clock) {
+        this.siteStatsService = siteStatsService;
+        this.instanceId = instanceId != null && !instanceId.isBlank() ? instanceId : UUID.randomUUID().toString();
+        this.peerTtl = peerTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public void recordAndRank(SiteScoreRequest req, SiteScoreResponse response) {
+        dropStalePeers();
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put(OVERALL, response.getScore());
+        if (response.getBreakdown() != null) {
+            values.putAll(response.getBreakdown());
+        }
+
+        String region = regionKey(req.getRegion());
+        Distribution regional = null;
+        if (region != null && siteStatsService.hasRegion(region)) {
+            regional = localRegions.computeIfAbsent(region, r -> new Distribution());
+        }
+        if (recent.add(new RecentKey(req, region))) {
+            local.add(values);
+            if (regional != null) regional.add(values);
+        }
+
+        Map<String, ScoreRank> ranks = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            String dimension = entry.getKey();
+            double value = entry.getValue();
+            long outOf = local.count(dimension);
+            long above = local.countAbove(dimension, value);
+            for (Peer peer : peers.values()) {
+                outOf += peer.overall.count(dimension);
+                above += peer.overall.countAbove(dimension, value);
+            }
+            ScoreRank rank = new ScoreRank(above + 1, outOf, percentile(outOf - above, outOf));
+
+            if (region != null) {
+                long regionOutOf = regional != null ? regional.count(dimension) : 0;
+                long regionAbove = regional != null ? regional.countAbove(dimension, value) : 0;
+                for (Peer peer : peers.values()) {
+                    Distribution peerRegion = peer.regions.get(region);
+                    if (peerRegion != null) {
+                        regionOutOf += peerRegion.count(dimension);
+                        regionAbove += peerRegion.countAbove(dimension, value);
+                    }
+                }
+                if (regionOutOf > 0) {
+                    rank.setRegionRank(regionAbove + 1);
+                    rank.setRegionOutOf(regionOutOf);
+                    rank.setRegionPercentile(percentile(regionOutOf - regionAbove, regionOutOf));
+                }
+            }
+            ranks.put(dimension, rank);
+        }
+        response.setRanks(ranks);
+    }
+
+    @Override
+    public RankSnapshot snapshot() {
+        Map<String, Map<String, long[]>> regions = new LinkedHashMap<>();
+        synchronized (localRegions) {
+            localRegions.forEach((region, distribution) -> regions.put(region, distribution.counts()));
+        }
+        return new RankSnapshot(instanceId, local.counts(), regions);
+    }
+
+    @Override
+    public void mergePeer(RankSnapshot snapshot) {
+        if (instanceId.equals(snapshot.getInstanceId())) return;
+        dropStalePeers();
+        if (!peers.containsKey(snapshot.getInstanceId()) && peers.size() >= MAX_PEERS) {
+            throw new InvalidRankSnapshotException("Too many peer instances (max " + MAX_PEERS + ")");
+        }
+
+        Distribution overall = Distribution.of(snapshot.getDimensions());
+        Map<String, Distribution> regions = new ConcurrentHashMap<>();
+        if (snapshot.getRegions() != null) {
+            if (snapshot.getRegions().size() > MAX_REGIONS) {
+                throw new InvalidRankSnapshotException("Too many regions in snapshot (max " + MAX_REGIONS + ")");
+            }
+            snapshot.getRegions().forEach((region, dimensions) -> {
+                String key = regionKey(region);
+                if (key == null || key.length() > MAX_REGION_LENGTH || dimensions == null) {
+                    throw new InvalidRankSnapshotException("Invalid region in snapshot");
+                }
+                regions.put(key, Distribution.of(dimensions));
+            });
+        }
+        peers.put(snapshot.getInstanceId(), new Peer(overall, regions, clock.instant()));
+    }
+
+    private void dropStalePeers() {
+        Instant cutoff = clock.instant().minus(peerTtl);
+        peers.values().removeIf(peer -> peer.receivedAt.isBefore(cutoff));
+    }
+
+    private static String regionKey(String region) {
+        return region != null && !region.isBlank() ? region.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static double percentile(long atOrBelow, long outOf) {
+        return outOf > 0 ? Math.round(1000.0 * atOrBelow / outOf) / 10.0 : 0;
+    }
+
+    // SiteScoreRequest equality covers the scoring inputs only
+    private record RecentKey(SiteScoreRequest inputs, String region) {}
+
+    private record Peer(Distribution overall, Map<String, Distribution> regions, Instant receivedAt) {}
+
+    /** One histogram per dimension. */
+    private static final class Distribution {
+        private final ConcurrentMap<String, ScoreHistogram> dimensions = new ConcurrentHashMap<>();
+
+        static Distribution of(Map<String, long[]> counts) {
+            Distribution distribution = new Distribution();
+            counts.forEach((dimension, buckets) -> {
+                if (!DIMENSIONS.contains(dimension)) {
+                    throw new InvalidRankSnapshotException("Unknown dimension in snapshot");
+                }
+                if (buckets == null || buckets.length != ScoreHistogram.BUCKETS) {
+                    throw new InvalidRankSnapshotException("Dimension '" + dimension + "' needs " + ScoreHistogram.BUCKETS + " counts");
+                }
+                ScoreHistogram histogram = new ScoreHistogram();
+                for (int bucket = 0; bucket < buckets.length; bucket++) {
+                    if (buckets[bucket] < 0) {
+                        throw new InvalidRankSnapshotException("Dimension '" + dimension + "' has a negative count");
+                    }
+                    histogram.addBucket(bucket, buckets[bucket], buckets[bucket] * bucket * ScoreHistogram.RESOLUTION);
+                }
+                distribution.dimensions.put(dimension, histogram);
+            });
+            return distribution;
+        }
+
+        void add(Map<String, Double> values) {
+            values.forEach((dimension, value) ->
+                    dimensions.computeIfAbsent(dimension, d -> new ScoreHistogram()).add(value));
+        }
+
+        long count(String dimension) {
+            ScoreHistogram histogram = dimensions.get(dimension);
+            return histogram != null ? histogram.count() : 0;
+        }
+
+        long countAbove(String dimension, double value) {
+            ScoreHistogram histogram = dimensions.get(dimension);
+            return histogram != null ? histogram.countAbove(value) : 0;
+        }
+
+        Map<String, long[]> counts() {
+            Map<String, long[]> counts = new LinkedHashMap<>();
+            dimensions.forEach((dimension, histogram) -> counts.put(dimension, histogram.counts()));
+            return counts;
+        }
+    }
+}
@@ -48,15 +48,15 @@ public class SiteScoringServiceImpl implements SiteScoringService {
     
     // Updated based on 2024 industry data
     private static final double TRUCK_EMISSIONS_KG_CO2_PER_KM_PER_TON = 0.27;
-    private static final double BASALT_APPLICATION_TONS_PER_HECTARE = 3.0; // Lithos Carbon: 3 tons basalt for 1 ton CO2
+    static final double BASALT_APPLICATION_TONS_PER_HECTARE = 3.0; // Lithos Carbon: 3 tons basalt for 1 ton CO2
     private static final double CO2_REMOVAL_BASE_KG_PER_TON_BASALT = 333.0; // Base rate
     private static final double CO2_REMOVAL_TROPICAL_KG_PER_TON_BASALT = 700.0; // Tropical climate bonus
     
     // Updated cost constants (USD) - 2024 industry data
     private static final double TRUCK_COST_PER_KM_PER_TON = 0.18; // Adjusted for 2024 fuel costs
     private static final double EQUIPMENT_COST_BASE = 16200.0; // per hectare per year - grinding/application equipment
-    private static final double BASE_HECTARES = 100.0; // Default metropolitan pilot project size
-    private static final double BASALT_COST_PER_TON = 35.0; // Raw basalt cost including grinding
+    static final double BASE_HECTARES = 100.0; // Default metropolitan pilot project size
+    static final double BASALT_COST_PER_TON = 35.0; // Raw basalt cost including grinding
     
     // Regional scaling factors for metropolitan analysis
     private static final double URBAN_LOGISTICS_PREMIUM = 1.15; // 15% premium for urban-area operations
@@ -236,13 +236,13 @@ public class SiteScoringServiceImpl implements SiteScoringService {
         return Math.max(0.1, 0.3 - (cost - 30) / 30.0 * 0.2);
     }
     
-    // Environmental impact calculations
-    private double calculateTransportEmissions(double basaltTons, double distanceKm) {
+    // Environmental impact calculations (shared with CarbonProjectionServiceImpl)
+    static double calculateTransportEmissions(double basaltTons, double distanceKm) {
         return basaltTons * distanceKm * TRUCK_EMISSIONS_KG_CO2_PER_KM_PER_TON * 2; // Round trip
     }
     
-    // Cost calculations
-    private double calculateTransportCost(double basaltTons, double distanceKm) {
+    // Cost calculations (shared with CarbonProjectionServiceImpl)
+    static double calculateTransportCost(double basaltTons, double distanceKm) {
         double baseCost = basaltTons * distanceKm * TRUCK_COST_PER_KM_PER_TON * 2; // Round trip
         // Apply metropolitan logistics premium for distances under 100km (urban areas)
         if (distanceKm < 100) {
@@ -254,13 +254,13 @@ public class SiteScoringServiceImpl implements SiteScoringService {
         return baseCost;
     }
     
-    private double calculateLaborCostTotal(double hectares, double hourlyRate) {
+    static double calculateLaborCostTotal(double hectares, double hourlyRate) {
         // Estimate: 2 workers per 10 hectares, 8 hours/day, 250 working days/year
         double workers = Math.max(1, hectares / 10.0 * 2);
         return workers * hourlyRate * 8 * 250;
     }
     
-    private double calculateEquipmentCost(double hectares, double infrastructureIndex) {
+    static double calculateEquipmentCost(double hectares, double infrastructureIndex) {
         // Base equipment cost adjusted by infrastructure quality
         double baseCost = hectares * EQUIPMENT_COST_BASE;
         double infrastructureFactor = 2.0 - infrastructureIndex; // Better infrastructure = lower costs
@@ -316,7 +316,7 @@ public class SiteScoringServiceImpl implements SiteScoringService {
     }
     
     // Enhanced CO2 calculation with climate dependency
-    private double calculateCo2RemovalRate(double temperature, double rainfall) {
+    static double calculateCo2RemovalRate(double temperature, double rainfall) {
         boolean isTropical = temperature >= TROPICAL_TEMPERATURE_THRESHOLD && rainfall >= 1200;
         return isTropical ? CO2_REMOVAL_TROPICAL_KG_PER_TON_BASALT : CO2_REMOVAL_BASE_KG_PER_TON_BASALT;
     }
@@ -0,0 +1,213 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dto.RegionScoreStats;
+import com.example.erw.dto.SiteStatsResponse;
+import com.example.erw.repository.SiteRepository;
+import com.example.erw.service.SiteStatsService;
+import com.example.erw.stats.ScoreHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-region score statistics served from incrementally maintained histograms.
+ *
+ * The aggregates are built from a single GROUP BY over the site table and
+ * afterwards kept current by {@link com.example.erw.stats.SiteStatsListener} on
+ * every committed insert, update and delete. Serving a stats request therefore
+ * costs O(regions), independent of how many sites are stored.
+ *
+ * The listener only sees writes made through this instance, so the aggregates
+ * are periodically rebuilt from the database (app.stats.reconcile-interval-ms).
+ * That picks up writes from other instances and corrects any drift, e.g. from a
+ * commit that lands in the GROUP BY snapshot and is also delivered by the listener.
+ */
+@Service
+public class SiteStatsServiceImpl implements SiteStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SiteStatsServiceImpl.class);
+    private static final int HISTOGRAM_BINS = 10;
+
+    private final SiteRepository siteRepository;
+    private final Object loadLock = new Object();
+    private final Object updateLock = new Object();
+    private volatile Aggregates aggregates = new Aggregates();
+    private volatile boolean loaded;
+    // Listener updates that arrive while a load is reading the table; guarded by updateLock
+    private List<Change> pending;
+
+    public SiteStatsServiceImpl(SiteRepository siteRepository) {
+        this.siteRepository = siteRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            ensureLoaded();
+        } catch (DataAccessException e) {
+            // Retried on the first stats request
+            log.warn("Could not load site statistics at startup: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            synchronized (loadLock) {
+                load();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not reconcile site statistics: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public SiteStatsResponse getStats() {
+        ensureLoaded();
+        Aggregates current = aggregates;
+
+        Map<String, ScoreHistogram> sorted = new TreeMap<>(current.regions);
+        List<RegionScoreStats> regionStats = new ArrayList<>(sorted.size());
+        sorted.forEach((region, histogram) -> {
+            ScoreHistogram snapshot = histogram.copy();
+            if (snapshot.count() > 0) {
+                regionStats.add(toStats(region, snapshot));
+            }
+        });
+
+        ScoreHistogram overallSnapshot = current.overall.copy();
+        return new SiteStatsResponse(overallSnapshot.count(), 1.0 / HISTOGRAM_BINS,
+                toStats(null, overallSnapshot), regionStats);
+    }
+
+    @Override
+    public void recordSite(String region, double score) {
+        apply(new Change(region, score, true));
+    }
+
+    @Override
+    public void removeSite(String region, double score) {
+        apply(new Change(region, score, false));
+    }
+
+    @Override
+    public boolean hasRegion(String region) {
+        // Never loads on the caller's thread; before warm-up no region is known yet
+        return loaded && region != null && aggregates.regionKeys.contains(regionKey(region));
+    }
+
+    private void apply(Change change) {
+        if (change.region() == null) return;
+        synchronized (updateLock) {
+            if (pending != null) {
+                // Replayed onto the aggregates being loaded, which may not include this commit
+                pending.add(change);
+            }
+            // Before the first load starts, the load itself picks up this commit
+            if (loaded) {
+                change.applyTo(aggregates);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (loadLock) {
+            if (!loaded) {
+                load();
+            }
+        }
+    }
+
+    /**
+     * Rebuild the aggregates from the database and swap them in. Caller holds loadLock.
+     */
+    private void load() {
+        synchronized (updateLock) {
+            pending = new ArrayList<>();
+        }
+        Aggregates fresh = new Aggregates();
+        try {
+            for (Object[] row : siteRepository.aggregateScoreBuckets()) {
+                String region = (String) row[0];
+                int bucket = ((Number) row[1]).intValue();
+                long count = ((Number) row[2]).longValue();
+                double sum = ((Number) row[3]).doubleValue();
+                fresh.regions.computeIfAbsent(region, r -> new ScoreHistogram()).addBucket(bucket, count, sum);
+                fresh.regionKeys.add(regionKey(region));
+                fresh.overall.addBucket(bucket, count, sum);
+            }
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (updateLock) {
+            for (Change change : pending) {
+                change.applyTo(fresh);
+            }
+            pending = null;
+            aggregates = fresh;
+            loaded = true;
+        }
+        log.debug("Loaded score statistics for {} sites across {} regions",
+                fresh.overall.count(), fresh.regions.size());
+    }
+
+    private static final class Aggregates {
+        final ConcurrentMap<String, ScoreHistogram> regions = new ConcurrentHashMap<>();
+        final Set<String> regionKeys = ConcurrentHashMap.newKeySet();
+        final ScoreHistogram overall = new ScoreHistogram();
+    }
+
+    private record Change(String region, double score, boolean added) {
+        void applyTo(Aggregates target) {
+            if (added) {
+                target.regions.computeIfAbsent(region, r -> new ScoreHistogram()).add(score);
+                target.regionKeys.add(regionKey(region));
+                target.overall.add(score);
+                return;
+            }
+            ScoreHistogram histogram = target.regions.get(region);
+            if (histogram != null && histogram.remove(score)) {
+                target.overall.remove(score);
+            }
+        }
+    }
+
+    private static RegionScoreStats toStats(String region, ScoreHistogram histogram) {
+        RegionScoreStats stats = new RegionScoreStats(region, histogram.count());
+        stats.setMinScore(round(histogram.min()));
+        stats.setMeanScore(round(histogram.mean()));
+        stats.setMaxScore(round(histogram.max()));
+        stats.setP25Score(round(histogram.percentile(0.25)));
+        stats.setMedianScore(round(histogram.percentile(0.50)));
+        stats.setP75Score(round(histogram.percentile(0.75)));
+        stats.setP90Score(round(histogram.percentile(0.90)));
+        stats.setHistogram(histogram.bins(HISTOGRAM_BINS));
+        return stats;
+    }
+
+    private static String regionKey(String region) {
+        return region.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.erw.stats;
+
+import com.example.erw.service.SiteRankService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+
+/**
+ * Pushes this instance's rank snapshot to every configured peer, so percentile
+ * ranks cover sites scored anywhere in the deployment.
+ *
+ * Peers are listed in app.ranks.peer-urls and authenticate each other with the
+ * shared app.ranks.peer-secret, sent in the {@value #SECRET_HEADER} header.
+ * Without both, nothing is sent and the instance ranks against its own sites.
+ */
+@Component
+public class RankSnapshotPublisher {
+
+    public static final String SECRET_HEADER = "X-Peer-Secret";
+
+    private static final Logger log = LoggerFactory.getLogger(RankSnapshotPublisher.class);
+
+    private final SiteRankService rankService;
+    private final List<String> peerUrls;
+    private final String peerSecret;
+    private final RestClient client;
+
+    public RankSnapshotPublisher(SiteRankService rankService,
+                                 @Value("${app.ranks.peer-urls:}") List<String> peerUrls,
+                                 @Value("${app.ranks.peer-secret:}") String peerSecret) {
+        this.rankService = rankService;
+        this.peerUrls = peerUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        this.peerSecret = peerSecret;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2_000);
+        requestFactory.setReadTimeout(5_000);
+        this.client = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    @Scheduled(initialDelayString = "${app.ranks.exchange-interval-ms:30000}",
+               fixedDelayString = "${app.ranks.exchange-interval-ms:30000}")
+    public void publish() {
+        if (peerUrls.isEmpty() || peerSecret.isBlank()) return;
+
+        var snapshot = rankService.snapshot();
+        for (String url : peerUrls) {
+            try {
+                client.post()
+                        .uri(url.replaceAll("/+$", "") + "/api/sitescore/ranks")
+                        .header(SECRET_HEADER, peerSecret)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(snapshot)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                // Peers keep the last snapshot they received; the next round retries
+                log.warn("Could not send rank snapshot to {}: {}", url, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.erw.stats;
+
+/**
+ * Fixed-size score distribution with 0.01 resolution over [0, 1].
+ *
+ * Site scores are stored with two decimals, so 101 buckets give exact
+ * percentiles while keeping memory and query cost constant regardless of
+ * how many sites are recorded. Histograms can be added to and removed from
+ * incrementally and merged by bucket-wise addition.
+ */
+public class ScoreHistogram {
+
+    public static final int BUCKETS = 101;
+    public static final double RESOLUTION = 0.01;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private double sum;
+
+    public synchronized void add(double score) {
+        counts[bucketOf(score)]++;
+        count++;
+        sum += score;
+    }
+
+    /**
+     * Remove one recorded score; returns false, leaving the histogram unchanged,
+     * when its bucket is already empty.
+     */
+    public synchronized boolean remove(double score) {
+        int bucket = bucketOf(score);
+        if (counts[bucket] == 0) {
+            return false;
+        }
+        counts[bucket]--;
+        count--;
+        sum -= score;
+        return true;
+    }
+
+    /**
+     * Add a pre-aggregated bucket, e.g. from a GROUP BY over the stored scores.
+     */
+    public synchronized void addBucket(int bucket, long bucketCount, double bucketSum) {
+        counts[clamp(bucket)] += bucketCount;
+        count += bucketCount;
+        sum += bucketSum;
+    }
+
+    public synchronized void merge(ScoreHistogram other) {
+        ScoreHistogram snapshot = other.copy();
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += snapshot.counts[i];
+        }
+        count += snapshot.count;
+        sum += snapshot.sum;
+    }
+
+    public synchronized ScoreHistogram copy() {
+        ScoreHistogram copy = new ScoreHistogram();
+        System.arraycopy(counts, 0, copy.counts, 0, BUCKETS);
+        copy.count = count;
+        copy.sum = sum;
+        return copy;
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public synchronized double mean() {
+        return count > 0 ? sum / count : 0;
+    }
+
+    public synchronized double min() {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) return i * RESOLUTION;
+        }
+        return 0;
+    }
+
+    public synchronized double max() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] > 0) return i * RESOLUTION;
+        }
+        return 0;
+    }
+
+    /**
+     * Nearest-rank percentile, q in [0, 1].
+     */
+    public synchronized double percentile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) return i * RESOLUTION;
+        }
+        return max();
+    }
+
+    /**
+     * Number of recorded scores strictly above the given score.
+     */
+    public synchronized long countAbove(double score) {
+        long above = 0;
+        for (int i = bucketOf(score) + 1; i < BUCKETS; i++) {
+            above += counts[i];
+        }
+        return above;
+    }
+
+    /**
+     * Number of recorded scores at or below the given score.
+     */
+    public synchronized long countAtOrBelow(double score) {
+        return count - countAbove(score);
+    }
+
+    /**
+     * Collapse the distribution into equal-width bins over [0, 1]; a score of
+     * exactly 1.0 falls into the last bin.
+     */
+    public synchronized long[] bins(int binCount) {
+        long[] bins = new long[binCount];
+        for (int i = 0; i < BUCKETS; i++) {
+            int bin = Math.min(binCount - 1, i * binCount / (BUCKETS - 1));
+            bins[bin] += counts[i];
+        }
+        return bins;
+    }
+
+    public synchronized long[] counts() {
+        return counts.clone();
+    }
+
+    public static int bucketOf(double score) {
+        return clamp((int) Math.round(score / RESOLUTION));
+    }
+
+    private static int clamp(int bucket) {
+        return Math.max(0, Math.min(BUCKETS - 1, bucket));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.erw.stats;
+
+import com.example.erw.model.AfterCommit;
+import com.example.erw.model.Site;
+import com.example.erw.service.SiteStatsService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps {@link SiteStatsService} aggregates in step with
+ * writes to the site table. Changes are applied after commit so rolled-back
+ * transactions never leak into the statistics.
+ *
+ * Instantiated by Hibernate through Spring's bean container; the service is
+ * resolved lazily because it depends on the repository, which in turn needs the
+ * entity manager factory that creates this listener.
+ */
+@Component
+public class SiteStatsListener {
+
+    private final ObjectProvider<SiteStatsService> statsService;
+
+    public SiteStatsListener(ObjectProvider<SiteStatsService> statsService) {
+        this.statsService = statsService;
+    }
+
+    @PostPersist
+    public void onPersist(Site site) {
+        String region = site.getRegion();
+        double score = scoreOf(site.getScore());
+        AfterCommit.run(() -> statsService.getObject().recordSite(region, score));
+    }
+
+    @PostUpdate
+    public void onUpdate(Site site) {
+        String oldRegion = site.getPersistedRegion();
+        Double oldScore = site.getPersistedScore();
+        String region = site.getRegion();
+        double score = scoreOf(site.getScore());
+        AfterCommit.run(() -> {
+            SiteStatsService service = statsService.getObject();
+            if (oldRegion != null) {
+                service.removeSite(oldRegion, scoreOf(oldScore));
+            }
+            service.recordSite(region, score);
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Site site) {
+        String region = site.getPersistedRegion() != null ? site.getPersistedRegion() : site.getRegion();
+        double score = scoreOf(site.getPersistedScore() != null ? site.getPersistedScore() : site.getScore());
+        AfterCommit.run(() -> statsService.getObject().removeSite(region, score));
+    }
+
+    private static double scoreOf(Double score) {
+        return score != null ? score : 0.0;
+    }
+}
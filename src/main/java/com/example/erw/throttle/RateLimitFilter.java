@@ -0,0 +1,71 @@
+package com.example.erw.throttle;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token-bucket rate limiting in front of the site endpoints
+ * ({@code /api/sites/**} and {@code /api/sitescore/**}).
+ *
+ * Bursts up to the bucket capacity pass straight through; beyond that a client
+ * is held to the refill rate and gets 429 with Retry-After, so one client's
+ * retry storm cannot occupy every database connection. Clients are keyed by
+ * remote address; behind a proxy, server.forward-headers-strategy resolves it
+ * from X-Forwarded-For, honoured only when sent by a trusted internal proxy.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter limiter;
+
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.capacity:40}") double capacity,
+                           @Value("${app.rate-limit.refill-per-second:20}") double refillPerSecond) {
+        this.enabled = enabled;
+        this.limiter = new TokenBucketRateLimiter(capacity, refillPerSecond);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !(path.equals("/api/sites") || path.startsWith("/api/sites/") || path.startsWith("/api/sitescore"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = request.getRemoteAddr();
+        long waitNanos = limiter.tryAcquire(client);
+        if (waitNanos == 0) {
+            response.setHeader("X-RateLimit-Remaining", Long.toString(limiter.available(client)));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setHeader("X-RateLimit-Remaining", "0");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Same shape as GlobalExceptionHandler errors
+        response.getWriter().write("{\"error\":\"TooManyRequests\",\"message\":\"Rate limit exceeded, retry in "
+                + retryAfterSeconds + " s\"}");
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleClients() {
+        limiter.evictFullBuckets();
+    }
+}
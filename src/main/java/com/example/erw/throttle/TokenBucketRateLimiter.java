@@ -0,0 +1,81 @@
+package com.example.erw.throttle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets, refilled continuously.
+ *
+ * Each bucket is a single immutable state swapped by compare-and-set, so request
+ * threads never block each other: concurrent clients touch different map bins and
+ * concurrent requests from one client retry a CAS instead of queueing on a lock.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(double capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be at least 1 and refill rate positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000.0;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take one token for the client.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String client) {
+        long now = nanoClock.getAsLong();
+        AtomicReference<Bucket> ref = buckets.computeIfAbsent(client, c -> new AtomicReference<>(new Bucket(capacity, now)));
+        while (true) {
+            Bucket current = ref.get();
+            double tokens = current.tokensAt(now, capacity, tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (ref.compareAndSet(current, new Bucket(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+    /** Tokens the client has left right now, rounded down. */
+    public long available(String client) {
+        AtomicReference<Bucket> ref = buckets.get(client);
+        if (ref == null) return (long) capacity;
+        return (long) ref.get().tokensAt(nanoClock.getAsLong(), capacity, tokensPerNano);
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they behave exactly like absent ones.
+     * A token taken concurrently with the eviction may be forgotten, which at worst
+     * lets that client have one extra request.
+     */
+    public void evictFullBuckets() {
+        long now = nanoClock.getAsLong();
+        buckets.entrySet().removeIf(e -> e.getValue().get().tokensAt(now, capacity, tokensPerNano) >= capacity);
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    private record Bucket(double tokens, long updatedAtNanos) {
+        double tokensAt(long now, double capacity, double tokensPerNano) {
+            return Math.min(capacity, tokens + Math.max(0, now - updatedAtNanos) * tokensPerNano);
+        }
+    }
+}
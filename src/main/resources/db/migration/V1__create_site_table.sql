@@ -0,0 +1,11 @@
+-- Site table as previously generated by Hibernate (ddl-auto: update).
+-- IF NOT EXISTS lets databases created before Flyway baseline onto this version unchanged.
+CREATE TABLE IF NOT EXISTS site (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name      VARCHAR(255)     NOT NULL,
+    region    VARCHAR(255)     NOT NULL,
+    latitude  DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    score     DOUBLE PRECISION NOT NULL,
+    CONSTRAINT uk_site_name_region UNIQUE (name, region)
+);
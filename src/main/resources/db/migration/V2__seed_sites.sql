@@ -1,3 +1,6 @@
+-- Seed snapshot of the 45 metropolitan ERW sites.
+-- Applied once and recorded with its checksum in flyway_schema_history; later boots skip it.
+-- ON CONFLICT keeps it safe on databases that were seeded by the old data.sql.
 INSERT INTO site (name, region, latitude, longitude, score) VALUES
   -- Tier 1: Global Metropolitan ERW Leaders (Highest Potential)
   ('Des Moines', 'Iowa-USA', 41.5868, -93.6250, 0.94),
@@ -63,4 +66,4 @@ INSERT INTO site (name, region, latitude, longitude, score) VALUES
   ('Ankara Rural', 'Central Anatolia-Turkey', 39.9334, 32.8597, 0.67),
   ('Munich Rural', 'Bavaria-Germany', 48.1351, 11.5820, 0.73),
   ('Bangkok Rural', 'Central Plains-Thailand', 13.7563, 100.5018, 0.69)
-ON CONFLICT (name, region) DO NOTHING;
\ No newline at end of file
+ON CONFLICT (name, region) DO NOTHING;
@@ -458,9 +458,19 @@ class ERWApp {
     }
 
     // Update Region Filter Options
-    updateRegionFilter() {
+    async updateRegionFilter() {
         const regionFilter = document.getElementById('regionFilter');
-        const regions = [...new Set(this.sites.map(site => site.region))].sort();
+        let regions;
+
+        try {
+            // Server-side facets cover every region, not just the sites on the first page
+            const response = await fetch('/api/sites/stats');
+            const stats = await response.json();
+            regions = (stats.regions || []).map(r => r.region);
+        } catch (error) {
+            console.error('Error loading region stats:', error);
+            regions = [...new Set(this.sites.map(site => site.region))].sort();
+        }
         
         regionFilter.innerHTML = '<option value="">All Regions</option>' +
             regions.map(region => `<option value="${region}">${region}</option>`).join('');
@@ -769,14 +779,17 @@ class ERWApp {
                     <div class="breakdown-item major">
                         <div class="breakdown-value">${result.breakdown.environmental?.toFixed(2) || '0.00'}</div>
                         <div class="breakdown-label">Environmental (40%)</div>
+                        ${this.formatRank(result, 'environmental')}
                     </div>
                     <div class="breakdown-item major">
                         <div class="breakdown-value">${result.breakdown.logistics?.toFixed(2) || '0.00'}</div>
                         <div class="breakdown-label">Logistics (35%)</div>
+                        ${this.formatRank(result, 'logistics')}
                     </div>
                     <div class="breakdown-item major">
                         <div class="breakdown-value">${result.breakdown.economic?.toFixed(2) || '0.00'}</div>
                         <div class="breakdown-label">Economic (25%)</div>
+                        ${this.formatRank(result, 'economic')}
                     </div>
                 </div>
                 
@@ -788,6 +801,7 @@ class ERWApp {
                         <div class="breakdown-item">
                             <div class="breakdown-value">${value.toFixed(2)}</div>
                             <div class="breakdown-label">${this.formatBreakdownLabel(key)}</div>
+                            ${this.formatRank(result, key)}
                         </div>
                     `).join('')}
                 </div>
@@ -887,6 +901,15 @@ class ERWApp {
         return labels[key] || key.charAt(0).toUpperCase() + key.slice(1);
     }
 
+    // Format "Top x% of N sites" from the server-side percentile ranks
+    formatRank(result, key) {
+        const rank = result.ranks?.[key];
+        if (!rank || rank.outOf < 2) return '';
+        const top = Math.ceil(100 * rank.rank / rank.outOf);
+        const region = rank.regionOutOf > 1 ? ` · #${rank.regionRank} of ${rank.regionOutOf} in region` : '';
+        return `<div class="breakdown-rank">Top ${top}% of ${rank.outOf} sites${region}</div>`;
+    }
+
     // Display Error
     displayError(message) {
         const container = document.getElementById('scoreResult');
@@ -0,0 +1,40 @@
+package com.example.erw;
+
+import com.example.erw.dto.SiteScoreRequest;
+
+/**
+ * Request payloads shared by controller and service tests.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {}
+
+    /**
+     * A site request that passes validation, with every scoring input set.
+     */
+    public static SiteScoreRequest validSiteScoreRequest() {
+        SiteScoreRequest req = new SiteScoreRequest();
+        req.setLatitude(12.34);
+        req.setLongitude(56.78);
+        req.setRainfallMm(1200.0);
+        req.setSoilPh(7.2);
+        req.setAvgTemperatureC(22.0);
+        req.setDistanceToRoadKm(10.0);
+        req.setBasaltTransportDistanceKm(80.0);
+        req.setBasaltAvailabilityIndex(0.8);
+        req.setInfrastructureQualityIndex(0.7);
+        req.setAgriculturalLandHectares(5000.0);
+        req.setPopulationDensityPerKm2(120.0);
+        req.setEnergyCostPerKWh(0.12);
+        req.setLaborCostPerHour(18.0);
+        req.setAnnualRainfallVariability(200.0);
+        req.setSoilOrganicCarbonPercent(2.5);
+        req.setElevationMeters(300.0);
+        req.setRegulatoryStabilityIndex(0.8);
+        req.setSoilMoisturePercent(35.0);
+        req.setCarbonMarketAccessibility(0.6);
+        req.setSoilCecMeqPer100g(18.0);
+        req.setMonitoringCapabilityIndex(0.7);
+        return req;
+    }
+}
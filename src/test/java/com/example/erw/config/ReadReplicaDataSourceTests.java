@@ -0,0 +1,117 @@
+package com.example.erw.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Uses mocked pools as a stand-in for a primary/replica pair.
+ */
+public class ReadReplicaDataSourceTests {
+
+    private HikariDataSource primaryPool;
+    private HikariDataSource readPool;
+    private Connection primaryConnection;
+    private Connection readConnection;
+    private ReadReplicaDataSource readReplica;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryPool = mock(HikariDataSource.class);
+        readPool = mock(HikariDataSource.class);
+        primaryConnection = mock(Connection.class);
+        readConnection = mock(Connection.class);
+        when(primaryPool.getConnection()).thenReturn(primaryConnection);
+        when(readPool.getConnection()).thenReturn(readConnection);
+        readReplica = new ReadReplicaDataSource(readPool, primaryPool, 30);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReadPoolAndWritesUsePrimary() throws SQLException {
+        when(primaryConnection.createStatement()).thenReturn(mock(Statement.class));
+        when(readConnection.createStatement()).thenReturn(mock(Statement.class));
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryPool);
+        routing.setReadOnlyDataSource(readReplica);
+
+        try (Connection connection = routing.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+        verify(readPool).getConnection();
+        verify(primaryConnection, never()).createStatement();
+
+        try (Connection connection = routing.getConnection()) {
+            connection.createStatement();
+        }
+        verify(primaryConnection).createStatement();
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaIsDown() throws SQLException {
+        when(readPool.getConnection()).thenThrow(new SQLTransientConnectionException(
+                "erw-read - Connection is not available, request timed out after 5000ms.", "08001",
+                new SQLException("Connection refused", "08001")));
+
+        assertSame(primaryConnection, readReplica.getConnection());
+        assertFalse(readReplica.isReplicaHealthy());
+
+        // Once marked unhealthy the replica is skipped until a health check succeeds
+        assertSame(primaryConnection, readReplica.getConnection());
+        verify(readPool).getConnection();
+    }
+
+    @Test
+    void exhaustedReadPoolBorrowsFromPrimaryWithoutMarkingReplicaDown() throws SQLException {
+        when(readPool.getConnection())
+                .thenThrow(new SQLTransientConnectionException("erw-read - Connection is not available, request timed out after 5000ms."))
+                .thenReturn(readConnection);
+
+        assertSame(primaryConnection, readReplica.getConnection());
+        assertTrue(readReplica.isReplicaHealthy());
+        assertSame(readConnection, readReplica.getConnection());
+    }
+
+    @Test
+    void credentialsArePerPool() {
+        assertThrows(SQLFeatureNotSupportedException.class, () -> readReplica.getConnection("erw", "secret"));
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet lagging = mock(ResultSet.class);
+        ResultSet caughtUp = mock(ResultSet.class);
+        when(readConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lagging, caughtUp);
+        when(lagging.next()).thenReturn(true);
+        when(lagging.getDouble(1)).thenReturn(120.0);
+        when(caughtUp.next()).thenReturn(true);
+        when(caughtUp.getDouble(1)).thenReturn(0.0);
+
+        readReplica.checkHealth();
+        assertFalse(readReplica.isReplicaHealthy());
+        assertSame(primaryConnection, readReplica.getConnection());
+
+        readReplica.checkHealth();
+        assertTrue(readReplica.isReplicaHealthy());
+        assertSame(readConnection, readReplica.getConnection());
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.erw.controller;
 
+import com.example.erw.dto.RankSnapshot;
+import com.example.erw.dto.RegionScoreStats;
 import com.example.erw.dto.SiteScoreRequest;
 import com.example.erw.dto.SiteScoreResponse;
+import com.example.erw.dto.SiteStatsResponse;
+import com.example.erw.exception.InvalidRankSnapshotException;
+import com.example.erw.repository.SiteRepository;
+import com.example.erw.service.SiteExportService;
+import com.example.erw.service.SiteRankService;
 import com.example.erw.service.SiteScoringService;
+import com.example.erw.service.SiteStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -12,28 +20,29 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static com.example.erw.TestFixtures.validSiteScoreRequest;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+import java.util.List;
 import java.util.Map;
 
-@WebMvcTest(SiteController.class)
+@WebMvcTest(value = SiteController.class, properties = "app.ranks.peer-secret=s3cret")
 public class SiteControllerTests {
 
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
+    @MockBean private SiteRepository siteRepository;
     @MockBean private SiteScoringService scoringService;
+    @MockBean private SiteStatsService statsService;
+    @MockBean private SiteExportService exportService;
+    @MockBean private SiteRankService rankService;
 
     @Test
     void scoreEndpointReturnsScore() throws Exception {
-        SiteScoreRequest req = new SiteScoreRequest();
-        req.setLatitude(12.34);
-        req.setLongitude(56.78);
-        req.setRainfallMm(1200.0);
-        req.setSoilPh(7.2);
-        req.setDistanceToRoadKm(10.0);
-        req.setBasaltAvailabilityIndex(0.8);
+        SiteScoreRequest req = validSiteScoreRequest();
 
         Mockito.when(scoringService.scoreSite(Mockito.any()))
                .thenReturn(new SiteScoreResponse(0.85, Map.of("soilPh", 0.9)));
@@ -44,4 +53,42 @@ public class SiteControllerTests {
                .andExpect(status().isOk())
                .andExpect(jsonPath("$.score").exists());
     }
+
+    @Test
+    void statsEndpointReturnsRegionFacets() throws Exception {
+        RegionScoreStats iowa = new RegionScoreStats("Iowa-USA", 2);
+        iowa.setMeanScore(0.9);
+        Mockito.when(statsService.getStats())
+               .thenReturn(new SiteStatsResponse(2, 0.1, new RegionScoreStats(null, 2), List.of(iowa)));
+
+        mockMvc.perform(get("/api/sites/stats"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.totalSites").value(2))
+               .andExpect(jsonPath("$.regions[0].region").value("Iowa-USA"))
+               .andExpect(jsonPath("$.regions[0].meanScore").value(0.9));
+    }
+
+    @Test
+    void rankSnapshotsAreMergedOnlyWithThePeerSecret() throws Exception {
+        String snapshot = objectMapper.writeValueAsString(new RankSnapshot("peer-1", Map.of("score", new long[101]), null));
+
+        mockMvc.perform(post("/api/sitescore/ranks").contentType(MediaType.APPLICATION_JSON).content(snapshot))
+               .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/sitescore/ranks").header("X-Peer-Secret", "guess")
+                .contentType(MediaType.APPLICATION_JSON).content(snapshot))
+               .andExpect(status().isForbidden());
+        Mockito.verify(rankService, Mockito.never()).mergePeer(Mockito.any());
+
+        mockMvc.perform(post("/api/sitescore/ranks").header("X-Peer-Secret", "s3cret")
+                .contentType(MediaType.APPLICATION_JSON).content(snapshot))
+               .andExpect(status().isNoContent());
+        Mockito.verify(rankService).mergePeer(Mockito.any());
+
+        Mockito.doThrow(new InvalidRankSnapshotException("Too many regions in snapshot (max 100)"))
+               .when(rankService).mergePeer(Mockito.any());
+        mockMvc.perform(post("/api/sitescore/ranks").header("X-Peer-Secret", "s3cret")
+                .contentType(MediaType.APPLICATION_JSON).content(snapshot))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.error").value("InvalidRankSnapshot"));
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.erw.controller;
+
+import com.example.erw.dto.SiteImportResponse;
+import com.example.erw.service.SiteDedupService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SiteImportController.class)
+public class SiteImportControllerTests {
+
+    @Autowired private MockMvc mockMvc;
+    @MockBean private SiteDedupService dedupService;
+
+    @Test
+    void importReturnsTheServiceResult() throws Exception {
+        Mockito.when(dedupService.importSites(Mockito.any()))
+               .thenReturn(new SiteImportResponse(1, 0, 0, List.of()));
+
+        mockMvc.perform(importing("{\"sites\":[{\"name\":\"Fazenda Boa Vista\",\"region\":\"Brazil-SE\"}]}"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void invalidImportsAreRejected() throws Exception {
+        mockMvc.perform(importing("{\"sites\":[]}"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message").value(containsString("sites")));
+        mockMvc.perform(importing("{\"mode\":\"replace\",\"sites\":[{\"name\":\"A\",\"region\":\"B\"}]}"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message").value(containsString("mode")));
+        mockMvc.perform(importing("{\"sites\":[{\"name\":\" \",\"region\":\"Brazil-SE\",\"latitude\":91}]}"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message").value(containsString("sites[0].latitude")));
+
+        Mockito.verify(dedupService, Mockito.never()).importSites(Mockito.any());
+    }
+
+    private static RequestBuilder importing(String body) {
+        return post("/api/sites/import").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.erw.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SiteDedupIndexTests {
+
+    @Test
+    void accentAndPunctuationVariantsMatchWithinRegion() {
+        SiteDedupIndex index = new SiteDedupIndex();
+        index.add(1, "São Paulo Interior", "Brazil-SE", -22.9, -47.06);
+        index.add(2, "Campinas", "Brazil-SE", -22.91, -47.07);
+
+        Optional<DedupMatch> match = index.findMatch("Sao Paulo - interior", "brazil se", null, null);
+
+        assertTrue(match.isPresent());
+        assertEquals(1, match.get().getSiteId());
+        assertEquals(1.0, match.get().getNameSimilarity(), 1e-9);
+        assertTrue(index.findMatch("Sao Paulo Interior", "Portugal-N", null, null).isEmpty());
+    }
+
+    @Test
+    void nearbyCoordinatesMatchSimilarNamesAcrossRegions() {
+        SiteDedupIndex index = new SiteDedupIndex();
+        index.add(1, "Des Moines Farmland", "USA-Midwest", 41.5868, -93.6250);
+
+        // ~0.3 km away, different region label and a shortened name
+        assertTrue(index.findMatch("Des Moines Farms", "Iowa", 41.5890, -93.6260).isPresent());
+        // Same coordinates but an unrelated name is a different site
+        assertTrue(index.findMatch("Ankeny Quarry", "Iowa", 41.5868, -93.6250).isEmpty());
+        // Similar name but 50 km away in another region
+        assertTrue(index.findMatch("Des Moines Farms", "Iowa", 42.0, -93.6250).isEmpty());
+
+        index.remove(1);
+        assertTrue(index.findMatch("Des Moines Farmland", "USA-Midwest", 41.5868, -93.6250).isEmpty());
+    }
+
+    @Test
+    void findsPlantedDuplicatesAmongManySites() {
+        SiteDedupIndex index = new SiteDedupIndex();
+        Random random = new Random(42);
+        int sites = 100_000;
+        String[] names = new String[sites];
+        for (int i = 0; i < sites; i++) {
+            // Random names on a grid of points ~5 km apart
+            names[i] = word(random) + " " + word(random) + " Farm";
+            index.add(i, names[i], "Region-" + (i % 50), -60 + (i / 1000) * 0.05, -170 + (i % 1000) * 0.05);
+        }
+        index.add(sites, names[4242].toUpperCase(), "region 42", null, null);
+        index.add(sites + 1, names[777] + "s", "Elsewhere", -60.0005, -170 + 777 * 0.05);
+
+        List<SiteDedupIndex.DuplicatePair> pairs = index.duplicatePairs();
+
+        assertEquals(2, pairs.size());
+        assertEquals(777, pairs.get(0).siteId());
+        assertEquals(sites + 1, pairs.get(0).match().getSiteId());
+        assertEquals(4242, pairs.get(1).siteId());
+        assertEquals(sites, pairs.get(1).match().getSiteId());
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[5 + random.nextInt(5)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.erw.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SiteColumnarFormatTests {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void roundTripsRowsAcrossRowGroups() throws IOException {
+        Path file = tempDir.resolve("sites.erwc");
+        try (OutputStream out = Files.newOutputStream(file);
+             SiteColumnarWriter writer = new SiteColumnarWriter(out, 3)) {
+            writer.write(1, "Des Moines", "Iowa-USA", 41.5868, -93.6250, 0.94);
+            writer.write(2, "São Paulo Interior", "São Paulo-Brazil", -22.3193, -49.0658, 0.81);
+            writer.write(3, "Córdoba", "Córdoba-Argentina", null, null, 0.76);
+            writer.write(4, "Nairobi", "Central-Kenya", -1.2921, 36.8219, 0.66);
+        }
+
+        try (SiteColumnarReader reader = SiteColumnarReader.open(file)) {
+            assertEquals(4, reader.rowCount());
+            assertEquals(2, reader.rowGroupCount());
+
+            SiteColumnarReader.RowGroup first = reader.rowGroup(0);
+            assertEquals(3, first.rowCount());
+            assertEquals("São Paulo Interior", first.name(1));
+            assertEquals("São Paulo-Brazil", first.region(1));
+            assertEquals(-22.3193, first.latitude(1));
+            assertNull(first.longitude(2));
+
+            DoubleBuffer scores = first.scores();
+            double sum = 0;
+            while (scores.hasRemaining()) sum += scores.get();
+            assertEquals(0.94 + 0.81 + 0.76, sum, 1e-9);
+
+            SiteColumnarReader.RowGroup second = reader.rowGroup(1);
+            assertEquals(1, second.rowCount());
+            assertEquals(4, second.id(0));
+            assertEquals("Central-Kenya", second.region(0));
+        }
+    }
+
+    @Test
+    void emptyExportHasNoRowGroups() throws IOException {
+        Path file = tempDir.resolve("empty.erwc");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            new SiteColumnarWriter(out).close();
+        }
+
+        try (SiteColumnarReader reader = SiteColumnarReader.open(file)) {
+            assertEquals(0, reader.rowCount());
+            assertEquals(0, reader.rowGroupCount());
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("sites.csv");
+        Files.writeString(file, "id,name,region,latitude,longitude,score\n");
+
+        assertThrows(IOException.class, () -> SiteColumnarReader.open(file));
+    }
+}
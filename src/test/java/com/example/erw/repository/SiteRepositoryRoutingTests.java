@@ -0,0 +1,137 @@
+package com.example.erw.repository;
+
+import com.example.erw.config.ReadReplicaDataSource;
+import com.example.erw.dedup.SiteDedupListener;
+import com.example.erw.stats.SiteStatsListener;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.Map;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the real Spring Data repository proxy and Hibernate over mocked pools,
+ * so the pool that serves each query comes from the repository's own
+ * transaction attributes.
+ */
+@SpringJUnitConfig(SiteRepositoryRoutingTests.Config.class)
+public class SiteRepositoryRoutingTests {
+
+    @Autowired private SiteRepository siteRepository;
+    @Autowired private HikariDataSource primaryPool;
+    @Autowired private HikariDataSource readPool;
+
+    @BeforeEach
+    void resetPools() {
+        clearInvocations(primaryPool, readPool);
+    }
+
+    @Test
+    void inheritedAndDeclaredQueriesUseTheReadPool() throws SQLException {
+        siteRepository.findAll(Sort.by("score"));
+        siteRepository.findById(42L);
+        siteRepository.findByRegionIgnoreCase("Iowa-USA", Sort.by("name"));
+
+        verify(readPool, atLeastOnce()).getConnection();
+        verify(primaryPool, never()).getConnection();
+    }
+
+    @Test
+    void rebuildQueriesUseThePrimary() throws SQLException {
+        siteRepository.aggregateScoreBuckets();
+        siteRepository.findDedupKeys();
+
+        verify(primaryPool, atLeastOnce()).getConnection();
+        verify(readPool, never()).getConnection();
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = SiteRepository.class)
+    @Import({SiteStatsListener.class, SiteDedupListener.class})
+    static class Config {
+
+        @Bean
+        HikariDataSource primaryPool() throws SQLException {
+            return pool();
+        }
+
+        @Bean
+        HikariDataSource readPool() throws SQLException {
+            return pool();
+        }
+
+        @Bean
+        DataSource dataSource(HikariDataSource primaryPool, HikariDataSource readPool) {
+            LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryPool);
+            routing.setReadOnlyDataSource(new ReadReplicaDataSource(readPool, primaryPool, 30));
+            // Known defaults, so the proxy does not borrow a primary connection to look them up
+            routing.setDefaultAutoCommit(true);
+            routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return routing;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+                                                                    ConfigurableListableBeanFactory beanFactory) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.example.erw.model");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // Same settings as application.yml: no connection is opened at startup
+            factory.setJpaPropertyMap(Map.of(
+                    "jakarta.persistence.database-product-name", "PostgreSQL",
+                    "hibernate.boot.allow_jdbc_metadata_access", false,
+                    "hibernate.resource.beans.container", new SpringBeanContainer(beanFactory)));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        private static HikariDataSource pool() throws SQLException {
+            HikariDataSource pool = mock(HikariDataSource.class);
+            when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class, EMPTY_JDBC));
+            return pool;
+        }
+
+        // Statements, result sets and metadata are mocks in turn, so every query returns no rows
+        private static final Answer<Object> EMPTY_JDBC = invocation -> {
+            Class<?> type = invocation.getMethod().getReturnType();
+            if (type == SQLWarning.class) return null;
+            if (type.isInterface() && type.getPackageName().equals("java.sql")) {
+                return mock(type, Config.EMPTY_JDBC);
+            }
+            return RETURNS_DEFAULTS.answer(invocation);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dto.ProjectionRequest;
+import com.example.erw.dto.ProjectionResponse;
+import com.example.erw.dto.ProjectionYear;
+import com.example.erw.dto.SiteScoreRequest;
+import com.example.erw.dto.SiteScoreResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.example.erw.TestFixtures.validSiteScoreRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CarbonProjectionServiceImplTests {
+
+    private final SiteScoringServiceImpl scoring = new SiteScoringServiceImpl();
+    private final CarbonProjectionServiceImpl projections = new CarbonProjectionServiceImpl(scoring);
+
+    @Test
+    void constantApplicationConvergesToSteadyStateScore() {
+        ProjectionRequest req = request(site(22.0), Collections.nCopies(30, 100.0));
+        req.setHorizonYears(30);
+
+        ProjectionResponse response = projections.project(req);
+        SiteScoreResponse steadyState = scoring.scoreSite(site(22.0));
+        List<ProjectionYear> years = response.getSites().get(0).getYears();
+
+        assertEquals(30, years.size());
+        assertTrue(years.get(0).getCarbonRemovalKg() < years.get(29).getCarbonRemovalKg());
+        assertEquals(steadyState.getCarbonRemovalKgPerYear(), years.get(29).getCarbonRemovalKg(),
+                steadyState.getCarbonRemovalKgPerYear() * 0.01);
+        assertEquals(steadyState.getTotalCostUsdPerYear(), years.get(29).getCostUsd(), 0.01);
+        assertEquals(years.get(29).getCumulativeRevenueUsd(), response.getPortfolio().get(29).getCumulativeRevenueUsd(), 0.01);
+    }
+
+    @Test
+    void changingOneYearReusesEarlierYears() {
+        List<Double> prices = new ArrayList<>(Collections.nCopies(20, 100.0));
+        ProjectionResponse first = projections.project(request(site(25.0), prices));
+
+        prices.set(12, 150.0);
+        ProjectionResponse second = projections.project(request(site(25.0), prices));
+
+        assertEquals(0, first.getSites().get(0).getReusedYears());
+        assertEquals(12, second.getSites().get(0).getReusedYears());
+        List<ProjectionYear> before = first.getSites().get(0).getYears();
+        List<ProjectionYear> after = second.getSites().get(0).getYears();
+        assertEquals(before.get(11).getCumulativeRevenueUsd(), after.get(11).getCumulativeRevenueUsd(), 1e-9);
+        assertTrue(after.get(12).getRevenueUsd() > before.get(12).getRevenueUsd());
+        assertEquals(before.get(13).getRevenueUsd(), after.get(13).getRevenueUsd(), 1e-9);
+    }
+
+    @Test
+    void shorterHorizonKeepsCachedYearsForLongerOnes() {
+        List<Double> prices = Collections.nCopies(20, 100.0);
+        ProjectionResponse full = projections.project(request(site(24.0), prices));
+
+        ProjectionRequest shorter = request(site(24.0), prices);
+        shorter.setHorizonYears(10);
+        assertEquals(10, projections.project(shorter).getSites().get(0).getReusedYears());
+
+        ProjectionResponse again = projections.project(request(site(24.0), prices));
+        assertEquals(20, again.getSites().get(0).getReusedYears());
+        assertEquals(full.getSites().get(0).getYears().get(19).getCumulativeNetCarbonImpactKg(),
+                again.getSites().get(0).getYears().get(19).getCumulativeNetCarbonImpactKg(), 1e-9);
+    }
+
+    @Test
+    void regionLabelDoesNotSplitTheCache() {
+        SiteScoreRequest iowa = site(23.0);
+        iowa.setRegion("Iowa");
+        SiteScoreRequest unlabelled = site(23.0);
+        projections.project(request(iowa, Collections.nCopies(20, 100.0)));
+
+        assertEquals(20, projections.project(request(unlabelled, Collections.nCopies(20, 100.0)))
+                .getSites().get(0).getReusedYears());
+    }
+
+    private static ProjectionRequest request(SiteScoreRequest site, List<Double> prices) {
+        ProjectionRequest req = new ProjectionRequest();
+        req.setSites(List.of(site));
+        req.setCarbonPriceUsdPerTon(prices);
+        return req;
+    }
+
+    private static SiteScoreRequest site(double temperature) {
+        SiteScoreRequest req = validSiteScoreRequest();
+        req.setAvgTemperatureC(temperature);
+        return req;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dto.ImportedSite;
+import com.example.erw.dto.SiteImportRequest;
+import com.example.erw.dto.SiteImportResponse;
+import com.example.erw.dto.SiteImportResult;
+import com.example.erw.model.Site;
+import com.example.erw.repository.SiteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SiteDedupServiceImplTests {
+
+    private static final List<Object[]> TWO_VARIANTS = List.of(
+            new Object[]{1L, "Fazenda Boa Vista", "Brazil-SE", -22.1, -47.2},
+            new Object[]{2L, "Fazenda Boa-Vista", "Brazil-SE", null, null});
+
+    @Test
+    void changesCommittedDuringTheLoadWinOverTheSnapshot() {
+        SiteRepository repository = mock(SiteRepository.class);
+        SiteDedupServiceImpl dedup = new SiteDedupServiceImpl(repository);
+        when(repository.findDedupKeys()).thenAnswer(invocation -> {
+            // Site 1 is deleted and site 2 renamed while the snapshot is being read
+            dedup.unindexSite(1L);
+            dedup.indexSite(2L, "Sitio Santa Luzia", "Brazil-SE", null, null);
+            return TWO_VARIANTS;
+        });
+
+        assertTrue(dedup.findDuplicates().isEmpty());
+    }
+
+    @Test
+    void snapshotRowsAreIndexed() {
+        SiteRepository repository = mock(SiteRepository.class);
+        when(repository.findDedupKeys()).thenReturn(TWO_VARIANTS);
+
+        assertEquals(1, new SiteDedupServiceImpl(repository).findDuplicates().size());
+    }
+
+    @Test
+    void reconcilePicksUpSitesWrittenElsewhere() {
+        SiteRepository repository = mock(SiteRepository.class);
+        when(repository.findDedupKeys()).thenReturn(TWO_VARIANTS.subList(0, 1), TWO_VARIANTS);
+        SiteDedupServiceImpl dedup = new SiteDedupServiceImpl(repository);
+
+        assertTrue(dedup.findDuplicates().isEmpty());
+        dedup.reconcile();
+        assertEquals(1, dedup.findDuplicates().size());
+    }
+
+    @Test
+    void flagModeSkipsANearDuplicateAndMergeModeUpdatesIt() {
+        SiteRepository repository = fakeRepository(new Site("Fazenda Boa Vista", "Brazil-SE", null, null, 0.5));
+        SiteDedupServiceImpl dedup = new SiteDedupServiceImpl(repository);
+
+        SiteImportResponse flagged = dedup.importSites(request("flag", row("FAZENDA BOA-VISTA", "Brazil-SE", -22.1, -47.2, 0.9)));
+        assertEquals(1, flagged.getFlagged());
+        SiteImportResult result = flagged.getResults().get(0);
+        assertEquals("FLAGGED", result.getStatus());
+        assertEquals(1L, result.getMatchedSiteId());
+        verify(repository, never()).save(any());
+
+        SiteImportResponse merged = dedup.importSites(request("merge", row("FAZENDA BOA-VISTA", "Brazil-SE", -22.1, -47.2, 0.9)));
+        assertEquals(1, merged.getMerged());
+        Site existing = repository.findById(1L).orElseThrow();
+        assertEquals("Fazenda Boa Vista", existing.getName());
+        assertEquals(-22.1, existing.getLatitude());
+        assertEquals(0.9, existing.getScore());
+    }
+
+    @Test
+    void rowsInOneImportAreMatchedAgainstEachOther() {
+        SiteRepository repository = fakeRepository();
+        SiteImportResponse response = new SiteDedupServiceImpl(repository).importSites(request("flag",
+                row("Sitio Santa Luzia", "Brazil-SE", null, null, null),
+                row("Sítio Santa Luzia", "Brazil-SE", null, null, null)));
+
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFlagged());
+        assertEquals(response.getResults().get(0).getSiteId(), response.getResults().get(1).getMatchedSiteId());
+    }
+
+    @Test
+    void aMatchDeletedSinceIndexingIsImportedAsNew() {
+        SiteRepository repository = fakeRepository(new Site("Fazenda Boa Vista", "Brazil-SE", null, null, 0.5));
+        SiteDedupServiceImpl dedup = new SiteDedupServiceImpl(repository);
+        dedup.findDuplicates();
+        repository.deleteById(1L);
+
+        SiteImportResult result = dedup.importSites(request("flag", row("Fazenda Boa-Vista", "Brazil-SE", null, null, null)))
+                .getResults().get(0);
+        assertEquals("IMPORTED", result.getStatus());
+        assertNull(result.getMatchedSiteId());
+    }
+
+    @Test
+    void anExactCollisionMissingFromTheIndexIsFlagged() {
+        SiteRepository repository = fakeRepository();
+        Site elsewhere = new Site("Fazenda Boa Vista", "Brazil-SE", null, null, 0.5);
+        elsewhere.setId(7L);
+        when(repository.findByNameAndRegion("Fazenda Boa Vista", "Brazil-SE")).thenReturn(Optional.of(elsewhere));
+
+        SiteImportResult result = new SiteDedupServiceImpl(repository)
+                .importSites(request("flag", row("Fazenda Boa Vista", "Brazil-SE", null, null, null))).getResults().get(0);
+        assertEquals("FLAGGED", result.getStatus());
+        assertEquals(7L, result.getMatchedSiteId());
+    }
+
+    // Repository mock backed by a map, seeded with sites numbered from 1
+    private static SiteRepository fakeRepository(Site... sites) {
+        SiteRepository repository = mock(SiteRepository.class);
+        Map<Long, Site> rows = new LinkedHashMap<>();
+        AtomicLong ids = new AtomicLong();
+        when(repository.save(any())).thenAnswer(invocation -> {
+            Site site = invocation.getArgument(0);
+            if (site.getId() == null) site.setId(ids.incrementAndGet());
+            rows.put(site.getId(), site);
+            return site;
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+        doAnswer(invocation -> rows.remove(invocation.<Long>getArgument(0))).when(repository).deleteById(anyLong());
+        when(repository.findDedupKeys()).thenAnswer(invocation -> rows.values().stream()
+                .map(site -> new Object[]{site.getId(), site.getName(), site.getRegion(), site.getLatitude(), site.getLongitude()})
+                .toList());
+        for (Site site : sites) {
+            repository.save(site);
+        }
+        clearInvocations(repository);
+        return repository;
+    }
+
+    private static SiteImportRequest request(String mode, ImportedSite... rows) {
+        SiteImportRequest req = new SiteImportRequest();
+        req.setMode(mode);
+        req.setSites(List.of(rows));
+        return req;
+    }
+
+    private static ImportedSite row(String name, String region, Double latitude, Double longitude, Double score) {
+        ImportedSite row = new ImportedSite();
+        row.setName(name);
+        row.setRegion(region);
+        row.setLatitude(latitude);
+        row.setLongitude(longitude);
+        row.setScore(score);
+        return row;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dto.RankSnapshot;
+import com.example.erw.dto.ScoreRank;
+import com.example.erw.dto.SiteScoreRequest;
+import com.example.erw.dto.SiteScoreResponse;
+import com.example.erw.exception.InvalidRankSnapshotException;
+import com.example.erw.service.SiteStatsService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.erw.TestFixtures.validSiteScoreRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SiteRankServiceImplTests {
+
+    @Test
+    void ranksEachDimensionAmongScoredSites() {
+        SiteRankServiceImpl ranks = newRanks();
+        for (int i = 1; i <= 4; i++) {
+            ranks.recordAndRank(request(i, "Brazil-SE"), response(0.2 * i, 1.0 - 0.2 * i));
+        }
+
+        SiteScoreResponse response = response(0.5, 0.9);
+        ranks.recordAndRank(request(5, "brazil-se"), response);
+
+        ScoreRank logistics = response.getRanks().get("logistics");
+        assertEquals(3, logistics.getRank());
+        assertEquals(5, logistics.getOutOf());
+        assertEquals(60.0, logistics.getPercentile(), 1e-9);
+        assertEquals(3, logistics.getRegionRank());
+        assertEquals(1, response.getRanks().get("economic").getRank());
+        assertEquals(1, response.getRanks().get("score").getRank());
+
+        // Scoring the same site again, with any spelling of its region, does not add another site
+        ranks.recordAndRank(request(5, "brazil-se"), response);
+        ranks.recordAndRank(request(5, " BRAZIL-SE"), response);
+        assertEquals(5, response.getRanks().get("logistics").getOutOf());
+
+        SiteScoreResponse noRegion = response(0.5, 0.9);
+        ranks.recordAndRank(request(6, null), noRegion);
+        assertNull(noRegion.getRanks().get("logistics").getRegionRank());
+    }
+
+    @Test
+    void peerSnapshotsAreAddedOnceAndReplaced() {
+        SiteRankServiceImpl here = newRanks();
+        SiteRankServiceImpl peer = newRanks();
+        peer.recordAndRank(request(1, "Iowa"), response(0.9, 0.1));
+        peer.recordAndRank(request(2, "Iowa"), response(0.8, 0.1));
+
+        RankSnapshot snapshot = peer.snapshot();
+        here.mergePeer(snapshot);
+        here.mergePeer(snapshot);
+
+        SiteScoreResponse response = response(0.85, 0.5);
+        here.recordAndRank(request(3, "iowa"), response);
+        assertEquals(2, response.getRanks().get("logistics").getRank());
+        assertEquals(3, response.getRanks().get("logistics").getOutOf());
+        assertEquals(3, response.getRanks().get("logistics").getRegionOutOf());
+
+        peer.recordAndRank(request(4, "Ohio"), response(0.95, 0.1));
+        here.mergePeer(peer.snapshot());
+        here.recordAndRank(request(3, "iowa"), response);
+        assertEquals(4, response.getRanks().get("logistics").getOutOf());
+        assertEquals(3, response.getRanks().get("logistics").getRank());
+    }
+
+    @Test
+    void malformedSnapshotsAreRejected() {
+        SiteRankServiceImpl ranks = newRanks();
+        RankSnapshot shortCounts = new RankSnapshot("peer-1", Map.of("score", new long[10]), null);
+        RankSnapshot unknownDimension = new RankSnapshot("peer-1", Map.of("made-up", new long[101]), null);
+
+        assertThrows(InvalidRankSnapshotException.class, () -> ranks.mergePeer(shortCounts));
+        assertThrows(InvalidRankSnapshotException.class, () -> ranks.mergePeer(unknownDimension));
+    }
+
+    @Test
+    void everyBreakdownKeyIsAnAcceptedDimension() {
+        SiteScoreResponse scored = new SiteScoringServiceImpl().scoreSite(validSiteScoreRequest());
+
+        assertTrue(SiteRankServiceImpl.DIMENSIONS.containsAll(scored.getBreakdown().keySet()));
+    }
+
+    @Test
+    void restartedPeersStopCountingOnceTheirOldSnapshotExpires() {
+        MutableClock clock = new MutableClock();
+        SiteRankServiceImpl here = new SiteRankServiceImpl(knowsEveryRegion(), "here", Duration.ofSeconds(90), clock);
+
+        SiteRankServiceImpl before = newRanks();
+        before.recordAndRank(request(1, "Iowa"), response(0.9, 0.1));
+        before.recordAndRank(request(2, "Iowa"), response(0.8, 0.1));
+        here.mergePeer(before.snapshot());
+
+        // Same sites, scored again by the replacement process under a new id
+        clock.advance(Duration.ofSeconds(100));
+        SiteRankServiceImpl after = newRanks();
+        after.recordAndRank(request(1, "Iowa"), response(0.9, 0.1));
+        after.recordAndRank(request(2, "Iowa"), response(0.8, 0.1));
+        here.mergePeer(after.snapshot());
+
+        SiteScoreResponse response = response(0.85, 0.5);
+        here.recordAndRank(request(3, "Iowa"), response);
+        assertEquals(3, response.getRanks().get("logistics").getOutOf());
+
+        // Expired peers also free their slots: the restarted peer plus 15 more fill the cap
+        for (int i = 0; i < 15; i++) {
+            here.mergePeer(new RankSnapshot("old-" + i, Map.of(), null));
+        }
+        clock.advance(Duration.ofSeconds(100));
+        here.mergePeer(new RankSnapshot("new", Map.of(), null));
+    }
+
+    @Test
+    void aStableInstanceIdReplacesTheSnapshotFromBeforeARestart() {
+        SiteRankServiceImpl here = newRanks();
+        SiteRankServiceImpl before = new SiteRankServiceImpl(knowsEveryRegion(), "node-a", 30_000);
+        before.recordAndRank(request(1, "Iowa"), response(0.9, 0.1));
+        here.mergePeer(before.snapshot());
+
+        SiteRankServiceImpl after = new SiteRankServiceImpl(knowsEveryRegion(), "node-a", 30_000);
+        after.recordAndRank(request(1, "Iowa"), response(0.9, 0.1));
+        here.mergePeer(after.snapshot());
+
+        SiteScoreResponse response = response(0.85, 0.5);
+        here.recordAndRank(request(3, "Iowa"), response);
+        assertEquals(2, response.getRanks().get("logistics").getOutOf());
+    }
+
+    @Test
+    void onlyRegionsWithStoredSitesGetRegionRanks() {
+        SiteStatsService stats = mock(SiteStatsService.class);
+        when(stats.hasRegion("iowa")).thenReturn(true);
+        SiteRankServiceImpl ranks = new SiteRankServiceImpl(stats, null, 30_000);
+
+        for (int i = 0; i < 200; i++) {
+            ranks.recordAndRank(request(i, "spam-" + i), response(0.5, 0.5));
+        }
+        SiteScoreResponse response = response(0.5, 0.5);
+        ranks.recordAndRank(request(500, "Iowa"), response);
+
+        assertEquals(1, response.getRanks().get("logistics").getRegionOutOf());
+        assertEquals(201, response.getRanks().get("logistics").getOutOf());
+        assertEquals(Set.of("iowa"), ranks.snapshot().getRegions().keySet());
+    }
+
+    @Test
+    void leastRecentlyRankedRegionsGiveWayToNewOnes() {
+        SiteRankServiceImpl ranks = newRanks();
+        ranks.recordAndRank(request(0, "Iowa"), response(0.5, 0.5));
+        for (int i = 1; i < 100; i++) {
+            ranks.recordAndRank(request(i, "region-" + i), response(0.5, 0.5));
+        }
+        // Touch Iowa so region-1 is now the least recently ranked
+        ranks.recordAndRank(request(0, "Iowa"), response(0.5, 0.5));
+        ranks.recordAndRank(request(100, "Ohio"), response(0.5, 0.5));
+
+        Map<String, Map<String, long[]>> regions = ranks.snapshot().getRegions();
+        assertEquals(100, regions.size());
+        assertTrue(regions.containsKey("iowa"));
+        assertTrue(regions.containsKey("ohio"));
+        assertFalse(regions.containsKey("region-1"));
+    }
+
+    private static SiteRankServiceImpl newRanks() {
+        return new SiteRankServiceImpl(knowsEveryRegion(), null, 30_000);
+    }
+
+    private static SiteStatsService knowsEveryRegion() {
+        SiteStatsService stats = mock(SiteStatsService.class);
+        when(stats.hasRegion(anyString())).thenReturn(true);
+        return stats;
+    }
+
+    private static SiteScoreRequest request(int id, String region) {
+        SiteScoreRequest req = new SiteScoreRequest();
+        req.setLatitude((double) id);
+        req.setRegion(region);
+        return req;
+    }
+
+    private static SiteScoreResponse response(double logistics, double economic) {
+        return new SiteScoreResponse(Math.round((logistics + economic) * 50) / 100.0,
+                Map.of("logistics", logistics, "economic", economic));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
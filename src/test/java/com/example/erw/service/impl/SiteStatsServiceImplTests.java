@@ -0,0 +1,79 @@
+package com.example.erw.service.impl;
+
+import com.example.erw.dto.RegionScoreStats;
+import com.example.erw.dto.SiteStatsResponse;
+import com.example.erw.repository.SiteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SiteStatsServiceImplTests {
+
+    @Test
+    void updatesDuringTheLoadAreKeptAndFailedRemovesLeaveTotalsAlone() {
+        SiteRepository repository = mock(SiteRepository.class);
+        SiteStatsServiceImpl stats = new SiteStatsServiceImpl(repository);
+        when(repository.aggregateScoreBuckets()).thenAnswer(invocation -> {
+            // Committed after the GROUP BY snapshot, delivered while the load is still running
+            stats.recordSite("Brazil-SE", 0.70);
+            return List.<Object[]>of(new Object[]{"Brazil-SE", 50, 2L, 1.0});
+        });
+
+        SiteStatsResponse response = stats.getStats();
+        assertEquals(3, response.getTotalSites());
+        assertEquals(0.70, response.getOverall().getMaxScore(), 1e-9);
+
+        stats.removeSite("India-N", 0.30);
+        stats.removeSite("Brazil-SE", 0.90);
+        assertEquals(3, stats.getStats().getTotalSites());
+
+        stats.removeSite("Brazil-SE", 0.50);
+        assertEquals(2, stats.getStats().getTotalSites());
+    }
+
+    @Test
+    void reconcileReplacesAggregatesWithTheDatabaseState() {
+        SiteRepository repository = mock(SiteRepository.class);
+        when(repository.aggregateScoreBuckets()).thenReturn(
+                List.<Object[]>of(new Object[]{"Brazil-SE", 50, 1L, 0.5}),
+                // Another instance has since added a site in a new region
+                List.<Object[]>of(new Object[]{"Brazil-SE", 50, 1L, 0.5}, new Object[]{"India-N", 80, 1L, 0.8}));
+        SiteStatsServiceImpl stats = new SiteStatsServiceImpl(repository);
+
+        assertEquals(1, stats.getStats().getTotalSites());
+
+        stats.recordSite("Brazil-SE", 0.60);
+        stats.reconcile();
+
+        SiteStatsResponse response = stats.getStats();
+        assertEquals(2, response.getTotalSites());
+        assertEquals(List.of("Brazil-SE", "India-N"),
+                response.getRegions().stream().map(RegionScoreStats::getRegion).toList());
+    }
+
+    @Test
+    void knowsRegionsFromTheTableAndLaterWrites() {
+        SiteRepository repository = mock(SiteRepository.class);
+        when(repository.aggregateScoreBuckets()).thenReturn(List.<Object[]>of(new Object[]{"Brazil-SE", 50, 1L, 0.5}));
+        SiteStatsServiceImpl stats = new SiteStatsServiceImpl(repository);
+
+        // Not loaded yet, and asking does not load
+        assertFalse(stats.hasRegion("Brazil-SE"));
+        verify(repository, never()).aggregateScoreBuckets();
+
+        stats.warmUp();
+        assertTrue(stats.hasRegion(" brazil-se"));
+        assertFalse(stats.hasRegion("India-N"));
+
+        stats.recordSite("India-N", 0.4);
+        assertTrue(stats.hasRegion("india-n"));
+    }
+}
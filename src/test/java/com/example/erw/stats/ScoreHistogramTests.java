@@ -0,0 +1,45 @@
+package com.example.erw.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScoreHistogramTests {
+
+    @Test
+    void percentilesAndExtremesTrackAddsAndRemoves() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (double score : new double[]{0.10, 0.20, 0.30, 0.40, 0.94}) {
+            histogram.add(score);
+        }
+
+        assertEquals(5, histogram.count());
+        assertEquals(0.10, histogram.min(), 1e-9);
+        assertEquals(0.94, histogram.max(), 1e-9);
+        assertEquals(0.30, histogram.percentile(0.5), 1e-9);
+        assertEquals(0.388, histogram.mean(), 1e-9);
+
+        assertTrue(histogram.remove(0.94));
+        assertFalse(histogram.remove(0.94));
+        assertEquals(4, histogram.count());
+        assertEquals(0.40, histogram.max(), 1e-9);
+        assertEquals(1, histogram.countAbove(0.30));
+    }
+
+    @Test
+    void preAggregatedBucketsMergeLikeIndividualScores() {
+        ScoreHistogram fromRows = new ScoreHistogram();
+        fromRows.addBucket(81, 2, 1.62);
+        fromRows.addBucket(100, 1, 1.0);
+
+        ScoreHistogram merged = new ScoreHistogram();
+        merged.add(0.05);
+        merged.merge(fromRows);
+
+        assertEquals(4, merged.count());
+        assertArrayEquals(new long[]{1, 0, 0, 0, 0, 0, 0, 0, 2, 1}, merged.bins(10));
+    }
+}
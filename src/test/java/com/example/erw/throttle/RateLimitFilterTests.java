@@ -0,0 +1,46 @@
+package com.example.erw.throttle;
+
+import com.example.erw.controller.SiteController;
+import com.example.erw.repository.SiteRepository;
+import com.example.erw.service.SiteExportService;
+import com.example.erw.service.SiteRankService;
+import com.example.erw.service.SiteScoringService;
+import com.example.erw.service.SiteStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = SiteController.class,
+        properties = {"app.rate-limit.capacity=1", "app.rate-limit.refill-per-second=0.01"})
+public class RateLimitFilterTests {
+
+    @Autowired private MockMvc mockMvc;
+    @MockBean private SiteRepository siteRepository;
+    @MockBean private SiteScoringService scoringService;
+    @MockBean private SiteStatsService statsService;
+    @MockBean private SiteExportService exportService;
+    @MockBean private SiteRankService rankService;
+
+    @Test
+    void requestsOverTheLimitGet429WithRetryAfter() throws Exception {
+        mockMvc.perform(get("/api/sites/stats"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("X-RateLimit-Remaining", "0"));
+
+        mockMvc.perform(get("/api/sites/stats"))
+               .andExpect(status().isTooManyRequests())
+               .andExpect(header().string("Retry-After", "100"))
+               .andExpect(jsonPath("$.error").value("TooManyRequests"));
+
+        // A client-supplied X-Forwarded-For does not buy a fresh bucket
+        mockMvc.perform(get("/api/sites/stats").header("X-Forwarded-For", "203.0.113.7"))
+               .andExpect(status().isTooManyRequests());
+    }
+}
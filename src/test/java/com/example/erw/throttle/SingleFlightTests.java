@@ -0,0 +1,74 @@
+package com.example.erw.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTests {
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        CountDownLatch started = new CountDownLatch(callers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    started.countDown();
+                    return flight.execute("same", () -> {
+                        executions.incrementAndGet();
+                        await(release);
+                        return 42;
+                    });
+                }));
+            }
+            // Let every caller join the flight before the leader finishes
+            await(started);
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(0, flight.inFlight());
+
+        // Completed flights are not cached
+        assertEquals(7, flight.execute("same", () -> 7));
+    }
+
+    @Test
+    void leaderExceptionReachesCallerUnchanged() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        assertThrows(IllegalStateException.class, () -> flight.execute("k", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, flight.inFlight());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.erw.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketRateLimiterTests {
+
+    @Test
+    void burstUpToCapacityThenRefillRate() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 2, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        long wait = limiter.tryAcquire("a");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+        // Other clients have their own bucket
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void refilledBucketsAreEvicted() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("b");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        limiter.evictFullBuckets();
+        assertEquals(1, limiter.trackedClients());
+        assertEquals(9, limiter.available("b"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictFullBuckets();
+        assertEquals(0, limiter.trackedClients());
+    }
+}